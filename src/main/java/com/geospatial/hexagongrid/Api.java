@@ -1,18 +1,54 @@
 package com.geospatial.hexagongrid;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 
+import com.geospatial.hexagongrid.compact.CompactCells;
+import com.geospatial.hexagongrid.database.CellAggregate;
 import com.geospatial.hexagongrid.database.PostgresJDBC;
+import com.geospatial.hexagongrid.database.TessellationPartitioning;
+import com.geospatial.hexagongrid.flatgeobuf.FlatGeobufWriter;
 import com.geospatial.hexagongrid.geojson.FeatureCollection;
+import com.geospatial.hexagongrid.geojson.GeoJsonBatchWriter;
 import com.geospatial.hexagongrid.geojson.GeoJsonManager;
+import com.geospatial.hexagongrid.geojson.GeoJsonSeqWriter;
 import com.geospatial.hexagongrid.hexagon.*;
+import com.geospatial.hexagongrid.index.CellIndex;
+import com.geospatial.hexagongrid.jobs.TessellationJob;
+import com.geospatial.hexagongrid.jobs.TessellationJobs;
 import com.geospatial.hexagongrid.neighbors.*;
 import com.geospatial.hexagongrid.tessellation.Boundary;
 import com.geospatial.hexagongrid.tessellation.CornerEdgeTessellation;
 import com.geospatial.hexagongrid.tessellation.CornerEdgeTessellationDto;
+import com.geospatial.hexagongrid.tessellation.TessellationCursor;
+import com.geospatial.hexagongrid.topojson.TopoJsonManager;
+import com.geospatial.hexagongrid.utils.Bulkhead;
+import com.geospatial.hexagongrid.utils.ETags;
+import com.geospatial.hexagongrid.utils.GzipJettyServerFactory;
 import com.geospatial.hexagongrid.utils.JVMUtils;
 import com.geospatial.hexagongrid.utils.JsonTransformer;
+import com.geospatial.hexagongrid.utils.VirtualThreadPool;
+import com.geospatial.hexagongrid.utils.VirtualThreads;
+import com.geospatial.hexagongrid.wkb.WkbWriter;
 import com.google.gson.*;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+import spark.embeddedserver.EmbeddedServers;
+import spark.embeddedserver.jetty.EmbeddedJettyFactory;
+
 import static spark.Spark.*;
 
 public class Api {
@@ -21,14 +57,121 @@ public class Api {
 	// Default port for Spark, you can change this if you want
 	public final static int port = 4567;
 
+	// Created on the first database request, so .env is only required for /database endpoints
+	private static PostgresJDBC postgresJDBC;
+
+	// Background /database/tessellation requests, 2 running and 8 queued at most
+	private static final int MAX_RUNNING_JOBS = 2;
+	private static final TessellationJobs tessellationJobs = new TessellationJobs(MAX_RUNNING_JOBS, 8);
+
+	// Cell indexes reloaded from tessellation tables, by table name
+	private static final Map<String, CellIndex> cellIndexes = new ConcurrentHashMap<String, CellIndex>();
+
+	/*
+	 * Bulkheads: slow routes (tessellations, database) are limited to a few Jetty
+	 * threads each, so they cannot starve the fast routes (/api/hexagon,
+	 * /api/neighbors). Requests over the limit wait in a bounded queue (10s at
+	 * most), or are rejected with 503 when the queue is full.
+	 */
+	private static final int JETTY_MAX_THREADS = 200;
+	private static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+	private static final String BULKHEAD_ATTRIBUTE = "bulkhead";
+
+	// Entries of a /api/hexagon/batch or /api/neighbors/batch request
+	private static final int MAX_BATCH_SIZE = 100_000;
+
+	/*
+	 * GET variants of /api/hexagon, /api/neighbors & /api/tessellation: the payload
+	 * keys are query parameters (the boundary keys too, without "boundary."), and
+	 * responses have an ETag computed from these parameters (see ETags), so CDNs
+	 * and browsers can cache them and revalidate with If-None-Match.
+	 */
+	private static final List<String> HEXAGON_NUMBER_PARAMETERS = List.of("latitude", "longitude", "radius");
+	private static final List<String> BOUNDARY_PARAMETERS = List.of("minLatitude", "minLongitude", "maxLatitude",
+			"maxLongitude");
+	private static final List<String> TESSELLATION_NUMBER_PARAMETERS = List.of("latitude", "longitude", "radius",
+			"minLatitude", "minLongitude", "maxLatitude", "maxLongitude");
+	private static final List<String> TESSELLATION_TEXT_PARAMETERS = List.of("format", "order", "encoding", "pageSize",
+			"cursor");
+	private static final String CACHE_CONTROL = "public, max-age=86400";
+
+	// Hexagons of a /api/tessellation page
+	private static final int DEFAULT_PAGE_SIZE = 10_000;
+	private static final int MAX_PAGE_SIZE = 100_000;
+
+	/*
+	 * Thread mode (SERVER_THREADS environment variable):
+	 * 	- platform (default): requests run on a pool of JETTY_MAX_THREADS threads.
+	 * 	- virtual: each request runs on its own virtual thread (Java 21+), a
+	 * request blocked on the database no longer holds a pool thread, so the
+	 * database bulkhead is only limited by the connection pool: the connections
+	 * left by the running jobs (DATABASE_REQUEST_CONNECTIONS).
+	 * Tessellating is CPU-bound in both modes, at most PROCESSORS at a time.
+	 */
+	private static final String SERVER_THREADS = System.getenv().getOrDefault("SERVER_THREADS", "platform");
+	private static final boolean virtualThreads = SERVER_THREADS.equals("virtual") && VirtualThreads.isSupported();
+	private static final int DATABASE_MAX_CONNECTIONS = 10;
+	// Connection budget: every running request or job holds at least one connection
+	private static final int DATABASE_REQUEST_CONNECTIONS = DATABASE_MAX_CONNECTIONS - MAX_RUNNING_JOBS;
+
+	private static final Bulkhead tessellationBulkhead = new Bulkhead("tessellation", PROCESSORS, 2 * PROCESSORS, 10_000);
+	private static final Bulkhead databaseBulkhead = virtualThreads
+			? new Bulkhead("database", DATABASE_REQUEST_CONNECTIONS, 1000, 10_000)
+			: new Bulkhead("database", 4, 8, 10_000);
+	private static final Semaphore tessellationPermits = new Semaphore(PROCESSORS, true);
+
+	/*
+	 * Response compression: gzip when the client accepts it, applied while the
+	 * response is streamed (see GzipJettyServerFactory). COMPRESSION_LEVEL 1-9
+	 * (0 disables compression), COMPRESSION_MIN_SIZE in bytes.
+	 */
+	private static final int COMPRESSION_LEVEL = Integer.parseInt(System.getenv().getOrDefault("COMPRESSION_LEVEL", "6"));
+	private static final int COMPRESSION_MIN_SIZE = Integer.parseInt(System.getenv().getOrDefault("COMPRESSION_MIN_SIZE", "1024"));
+
 	public static void main(String[] args) {
 		port(port);
+		final EmbeddedJettyFactory jettyFactory = COMPRESSION_LEVEL > 0
+				? new EmbeddedJettyFactory(new GzipJettyServerFactory(COMPRESSION_LEVEL, COMPRESSION_MIN_SIZE))
+				: new EmbeddedJettyFactory();
+		if (virtualThreads) {
+			jettyFactory.withThreadPool(new VirtualThreadPool());
+		} else {
+			if (SERVER_THREADS.equals("virtual")) {
+				System.out.println("SERVER_THREADS=virtual requires Java 21+, current: " + Runtime.version()
+						+ ", using platform threads.");
+			}
+			threadPool(JETTY_MAX_THREADS);
+		}
+		EmbeddedServers.add(EmbeddedServers.Identifiers.JETTY, jettyFactory);
 		before((request, response) -> response.type("application/json"));
 
-		post("/api/hexagon", "application/json", (request, response) -> {
+		// Before the bulkheads, so that a 304 never waits for a slot
+		conditionalGet("/api/hexagon", HEXAGON_NUMBER_PARAMETERS, List.of());
+		conditionalGet("/api/neighbors", HEXAGON_NUMBER_PARAMETERS, List.of());
+		conditionalGet("/api/tessellation", TESSELLATION_NUMBER_PARAMETERS, TESSELLATION_TEXT_PARAMETERS);
+
+		bulkhead(tessellationBulkhead, "/api/tessellation", "/api/hexagon/batch", "/api/neighbors/batch");
+		bulkhead(databaseBulkhead, "/database/tessellation", "/database/tessellation/bbox",
+				"/database/tessellation/index", "/database/metrics");
+
+		get("/api/status", "application/json", (request, response) -> {
+			JsonObject status = new JsonObject();
+
+			JsonObject bulkheads = new JsonObject();
+			bulkheads.add(tessellationBulkhead.getName(), tessellationBulkhead.getMetrics());
+			bulkheads.add(databaseBulkhead.getName(), databaseBulkhead.getMetrics());
+			status.add("bulkheads", bulkheads);
+			status.add("jobs", tessellationJobs.getMetrics());
+			status.addProperty("threads", virtualThreads ? "virtual" : "platform");
+
+			return status;
+
+		}, new JsonTransformer());
+
+		final Route hexagonRoute = (request, response) -> {
 			try {
-				// Parse request payload to a JSONObject with Gson
-				JsonObject payload = gson.fromJson(request.body(), JsonObject.class);
+				// Parse request payload (or query parameters of GET) to a JSONObject
+				JsonObject payload = payload(request);
 
 				// Initialize a HexagonDto with payload to get all required data
 				HexagonDto dto = new HexagonDto(payload);
@@ -38,15 +181,18 @@ public class Api {
 				return collection;
 
 			} catch (Exception e) {
+				badRequest(response);
 				return "Invalid JSON data provided: " + e;
 			}
 
-		}, new JsonTransformer());
+		};
+		post("/api/hexagon", "application/json", hexagonRoute, new JsonTransformer());
+		get("/api/hexagon", "application/json", hexagonRoute, new JsonTransformer());
 
-		post("/api/neighbors", "application/json", (request, response) -> {
+		final Route neighborsRoute = (request, response) -> {
 			try {
-				// Parse request payload to a JSONObject with Gson
-				JsonObject payload = gson.fromJson(request.body(), JsonObject.class);
+				// Parse request payload (or query parameters of GET) to a JSONObject
+				JsonObject payload = payload(request);
 
 				// Initialize a HexagonDto with payload to store all required data
 				NeighborsDto dto = new NeighborsDto(payload);
@@ -56,128 +202,891 @@ public class Api {
 				return collection;
 
 			} catch (Exception e) {
+				badRequest(response);
 				return "Invalid JSON data provided: " + e;
 			}
 
+		};
+		post("/api/neighbors", "application/json", neighborsRoute, new JsonTransformer());
+		get("/api/neighbors", "application/json", neighborsRoute, new JsonTransformer());
+
+		/*
+		 * Batch variants of /api/hexagon & /api/neighbors: the payload is an array of
+		 * {latitude, longitude, radius}, the response streams one FeatureCollection
+		 * per entry and per line, in the order of the entries (see GeoJsonBatchWriter)
+		 */
+		post("/api/hexagon/batch", (request, response) -> batch(request, response, false));
+		post("/api/neighbors/batch", (request, response) -> batch(request, response, true));
+
+		final Route tessellationRoute = (request, response) -> {
+			try {
+				// Parse request payload (or query parameters of GET) to a JSONObject
+				JsonObject tessellationPayload = payload(request);
+
+				// Optional output format, default: GeoJSON
+				final String format = tessellationPayload.has("format")
+						? tessellationPayload.get("format").getAsString()
+						: "geojson";
+
+				// Optional order of the hexagons: "ring" (default, as generated) or "hilbert"
+				final String order = tessellationPayload.has("order")
+						? tessellationPayload.get("order").getAsString()
+						: "ring";
+				if (!order.equals("ring") && !order.equals("hilbert")) {
+					badRequest(response);
+					return gson.toJson("Unsupported order: " + order);
+				}
+
+				// Optional pagination: pageSize hexagons (in ring order) from the cursor, see TessellationCursor
+				final boolean paged = tessellationPayload.has("pageSize") || tessellationPayload.has("cursor");
+				if (paged && !order.equals("ring")) {
+					badRequest(response);
+					return gson.toJson("Pages are only supported in ring order.");
+				}
+
+				// Streaming formats: hexagons are written while tessellating, nothing is kept in memory
+				if (format.equals("geojsonseq") || format.equals("ndjson")) {
+					if (order.equals("hilbert")) {
+						badRequest(response);
+						return gson.toJson("The order hilbert is not supported by streaming formats.");
+					}
+					if (paged) {
+						badRequest(response);
+						return gson.toJson("Pages are not supported by streaming formats.");
+					}
+
+					Hexagon rootHexagon = new HexagonDto(tessellationPayload).getHexagon();
+					Boundary boundary = CornerEdgeTessellationDto.parseBoundary(tessellationPayload);
+
+					GeoJsonSeqWriter seqWriter = new GeoJsonSeqWriter(
+							response.raw().getOutputStream(), format.equals("geojsonseq"));
+					response.type(seqWriter.getContentType());
+
+					new CornerEdgeTessellation(rootHexagon).tessellate(boundary, seqWriter);
+					seqWriter.flush();
+					response.raw().flushBuffer();
+					return "";
+				}
+
+				final CornerEdgeTessellation tessellation;
+				if (paged) {
+					final int pageSize = tessellationPayload.has("pageSize")
+							? tessellationPayload.get("pageSize").getAsInt()
+							: DEFAULT_PAGE_SIZE;
+					if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+						badRequest(response);
+						return gson.toJson("pageSize must be between 1 and " + MAX_PAGE_SIZE + ", currently: " + pageSize);
+					}
+					final TessellationCursor cursor = tessellationPayload.has("cursor")
+							? TessellationCursor.decode(tessellationPayload.get("cursor").getAsString())
+							: TessellationCursor.FIRST;
+
+					tessellation = new CornerEdgeTessellation(new HexagonDto(tessellationPayload).getHexagon());
+					final TessellationCursor nextCursor = tessellation.tessellatePage(
+							CornerEdgeTessellationDto.parseBoundary(tessellationPayload), cursor, pageSize);
+
+					// Headers, so that every format (including binary ones) can be paginated
+					response.header("X-Total-Hexagons", Long.toString(
+							TessellationCursor.countHexagons(tessellation.getRequiredRings())));
+					if (nextCursor != null) {
+						response.header("X-Next-Cursor", nextCursor.encode());
+					}
+				} else {
+					tessellation = new CornerEdgeTessellationDto(tessellationPayload).getTessellation();
+				}
+				if (order.equals("hilbert")) {
+					tessellation.sortByHilbertCurve();
+				}
+
+				switch (format) {
+					case "geojson":
+						GeoJsonManager geoJsonManager = new GeoJsonManager(tessellation);
+						return gson.toJson(geoJsonManager.getFeatureCollection());
+
+					case "topojson":
+						TopoJsonManager topoJsonManager = new TopoJsonManager(tessellation);
+						return gson.toJson(topoJsonManager.getTopology());
+
+					case "cells":
+						// Optional encoding of the cells, default: plain (q, r) pairs
+						final String encoding = tessellationPayload.has("encoding")
+								? tessellationPayload.get("encoding").getAsString()
+								: CompactCells.ENCODING_QR;
+						return gson.toJson(new CompactCells(tessellation, encoding));
+
+					case "flatgeobuf":
+						final String fileName = String.format("tessellation_%sm",
+								(int) tessellation.getCircumradius());
+						FlatGeobufWriter writer = new FlatGeobufWriter(fileName, tessellation);
+
+						// Stream binary output, served as a downloadable file
+						response.type(FlatGeobufWriter.CONTENT_TYPE);
+						response.header("Content-Disposition",
+								"attachment; filename=\"" + fileName + FlatGeobufWriter.FILE_EXTENSION + "\"");
+						writer.write(response.raw().getOutputStream());
+						response.raw().flushBuffer();
+						return "";
+
+					case "wkb":
+						// All hexagons as a single EWKB MultiPolygon (SRID 4326)
+						response.type(WkbWriter.CONTENT_TYPE);
+						response.header("Content-Disposition", String.format(
+								"attachment; filename=\"tessellation_%sm%s\"",
+								(int) tessellation.getCircumradius(), WkbWriter.FILE_EXTENSION));
+						new WkbWriter().writeMultiPolygon(tessellation.getGisHexagons(), response.raw().getOutputStream());
+						response.raw().flushBuffer();
+						return "";
+
+					default:
+						badRequest(response);
+						return gson.toJson("Unsupported format: " + format);
+				}
+
+			} catch (Exception e) {
+				badRequest(response);
+				return gson.toJson("Invalid JSON data provided: " + e);
+			}
+
+		};
+		post("/api/tessellation", "application/json", tessellationRoute);
+		get("/api/tessellation", "application/json", tessellationRoute);
+
+		post("/database/tessellation", "application/json", (request, response) -> {
+			JsonObject status = new JsonObject();
+
+			try {
+				// Parse request payload to a JSONObject with Gson
+				JsonObject payload = gson.fromJson(request.body(), JsonObject.class);
+
+				return tessellationToDatabase(payload, null);
+
+			} catch (Exception e) {
+				status.addProperty("error", e.toString());
+			}
+
+			return status;
+
 		}, new JsonTransformer());
 
-		post("/api/tessellation", "application/json", (request, response) -> {
+		/*
+		 * Asynchronous /database/tessellation: returns a job id right away, then
+		 * poll the job, read the hexagons of its completed rings, or cancel it
+		 */
+		post("/jobs/tessellation", "application/json", (request, response) -> {
+			JsonObject status = new JsonObject();
+
+			try {
+				// Parse request payload to a JSONObject with Gson, same payload as /database/tessellation
+				JsonObject payload = gson.fromJson(request.body(), JsonObject.class);
+
+				// The pipeline loader does not keep the hexagons in memory, neither does its job
+				final boolean retainHexagons = !(payload.has("loader")
+						&& payload.get("loader").getAsString().equals("pipeline"));
+
+				final TessellationJob job = tessellationJobs.submit(
+						runningJob -> tessellationToDatabase(payload, runningJob), retainHexagons);
+
+				response.status(202);
+				response.header("Location", "/jobs/" + job.getId());
+				return job.toJson();
+
+			} catch (RejectedExecutionException e) {
+				response.status(503);
+				status.addProperty("error", "Too many tessellation jobs, retry later.");
+				status.add("jobs", tessellationJobs.getMetrics());
+			} catch (Exception e) {
+				status.addProperty("error", e.toString());
+			}
+
+			return status;
+
+		}, new JsonTransformer());
+
+		get("/jobs/:jobId", "application/json", (request, response) -> {
+			final TessellationJob job = tessellationJobs.get(request.params(":jobId"));
+			if (job == null) {
+				response.status(404);
+				JsonObject status = new JsonObject();
+				status.addProperty("error", "Job not found: " + request.params(":jobId"));
+				return status;
+			}
+
+			return job.toJson();
+
+		}, new JsonTransformer());
+
+		// Hexagons of the rings completed so far, as GeoJSON Text Sequences (default) or NDJSON
+		get("/jobs/:jobId/hexagons", (request, response) -> {
+			JsonObject status = new JsonObject();
+
+			final TessellationJob job = tessellationJobs.get(request.params(":jobId"));
+			if (job == null) {
+				response.status(404);
+				status.addProperty("error", "Job not found: " + request.params(":jobId"));
+				return gson.toJson(status);
+			}
+			if (!job.isRetainHexagons()) {
+				status.addProperty("error", "The hexagons of this job are not kept (pipeline loader).");
+				return gson.toJson(status);
+			}
+			if (job.isFinished()) {
+				// Released once finished, see TessellationJob
+				response.status(410);
+				status.addProperty("error", "The job is finished, its hexagons are in its table.");
+				return gson.toJson(status);
+			}
+
+			final String format = request.queryParamOrDefault("format", "geojsonseq");
+			if (!Set.of("geojsonseq", "ndjson").contains(format)) {
+				status.addProperty("error", "Unsupported format: " + format);
+				return gson.toJson(status);
+			}
+
+			GeoJsonSeqWriter seqWriter = new GeoJsonSeqWriter(
+					response.raw().getOutputStream(), format.equals("geojsonseq"));
+			response.type(seqWriter.getContentType());
+			for (List<Hexagon> ring : job.getCompletedRings()) {
+				for (Hexagon hexagon : ring) {
+					seqWriter.write(hexagon);
+				}
+				seqWriter.flush();
+			}
+			response.raw().flushBuffer();
+			return "";
+		});
+
+		delete("/jobs/:jobId", "application/json", (request, response) -> {
+			final TessellationJob job = tessellationJobs.get(request.params(":jobId"));
+			if (job == null) {
+				response.status(404);
+				JsonObject status = new JsonObject();
+				status.addProperty("error", "Job not found: " + request.params(":jobId"));
+				return status;
+			}
+
+			if (!tessellationJobs.cancel(job)) {
+				response.status(409);
+			}
+			return job.toJson();
+
+		}, new JsonTransformer());
+
+		post("/database/tessellation/bbox", "application/json", (request, response) -> {
+			JsonObject status = new JsonObject();
+
 			try {
 				// Parse request payload to a JSONObject with Gson
-				JsonObject tessellationPayload = gson.fromJson(request.body(), JsonObject.class);
+				JsonObject payload = gson.fromJson(request.body(), JsonObject.class);
+
+				// Table name is formatted into SQL, only accept plain identifiers of existing tables
+				final String tableName = payload.has("tableName") ? payload.get("tableName").getAsString() : null;
+				if (!PostgresJDBC.isValidTableName(tableName)) {
+					status.addProperty("error", "Invalid tableName: " + tableName);
+					return gson.toJson(status);
+				}
+
+				PostgresJDBC pg = getPostgresJDBC();
+				if (!pg.tableExists(tableName)) {
+					status.addProperty("error", "Table does not exist: " + tableName);
+					return gson.toJson(status);
+				}
+
+				// Optional output format, default: GeoJSON Text Sequences
+				final String format = payload.has("format")
+						? payload.get("format").getAsString()
+						: "geojsonseq";
 
-				CornerEdgeTessellationDto tessellationDto = new CornerEdgeTessellationDto(
-						tessellationPayload);
-				GeoJsonManager manager = new GeoJsonManager(tessellationDto.getTessellation());
+				switch (format) {
+					case "geojsonseq":
+					case "ndjson":
+						final Boundary boundary = CornerEdgeTessellationDto.parseBoundary(payload);
+						GeoJsonSeqWriter seqWriter = new GeoJsonSeqWriter(
+								response.raw().getOutputStream(), format.equals("geojsonseq"));
+						response.type(seqWriter.getContentType());
 
-				return manager.getFeatureCollection();
+						// Features are written as rows are fetched from the cursor
+						pg.streamTessellationBbox(tableName, boundary, row -> {
+							Map<String, Object> properties = new LinkedHashMap<String, Object>();
+							properties.put("ccid", Map.of("q", row.getQ(), "r", row.getR(), "s", row.getS()));
+							properties.put("centroid", row.getCentroid());
+							properties.put("circumradius", row.getCircumradius());
+
+							seqWriter.write(row.getGisVertices(), properties);
+						});
+						seqWriter.flush();
+						response.raw().flushBuffer();
+						return "";
+
+					case "mvt":
+						// Tile (z, x, y) instead of a boundary
+						final JsonObject tile = payload.get("tile").getAsJsonObject();
+						final byte[] mvt = pg.fetchTessellationTile(tableName,
+								tile.get("z").getAsInt(), tile.get("x").getAsInt(), tile.get("y").getAsInt());
+
+						response.type("application/vnd.mapbox-vector-tile");
+						response.raw().getOutputStream().write(mvt);
+						response.raw().flushBuffer();
+						return "";
+
+					default:
+						status.addProperty("error", "Unsupported format: " + format);
+						return gson.toJson(status);
+				}
 
 			} catch (Exception e) {
-				return "Invalid JSON data provided: " + e;
+				status.addProperty("error", e.toString());
+			}
+
+			return gson.toJson(status);
+		});
+
+		post("/database/tessellation/index", "application/json", (request, response) -> {
+			JsonObject status = new JsonObject();
+
+			try {
+				// Parse request payload to a JSONObject with Gson
+				JsonObject payload = gson.fromJson(request.body(), JsonObject.class);
+
+				final String tableName = payload.has("tableName") ? payload.get("tableName").getAsString() : null;
+				if (!PostgresJDBC.isValidTableName(tableName)) {
+					status.addProperty("error", "Invalid tableName: " + tableName);
+					return status;
+				}
+
+				PostgresJDBC pg = getPostgresJDBC();
+				if (!pg.tableExists(tableName)) {
+					status.addProperty("error", "Table does not exist: " + tableName);
+					return status;
+				}
+
+				// Rebuild the index from the stored grid instead of recomputing the tessellation
+				final long startTime = System.nanoTime();
+				final CellIndex cellIndex = pg.loadCellIndex(tableName);
+				final double elapsedMillis = (System.nanoTime() - startTime) / 1e6;
+				cellIndexes.put(tableName, cellIndex);
+
+				status.addProperty("status", "SUCCESS");
+				status.addProperty("tableName", tableName);
+				status.addProperty("cells", cellIndex.getSize());
+				status.addProperty("circumradius", cellIndex.getCircumradius());
+				status.addProperty("memoryBytes", cellIndex.getMemoryBytes());
+				status.addProperty("elapsedSeconds", elapsedMillis / 1000);
+				status.addProperty("rowsPerSecond", Math.round(cellIndex.getSize() / (elapsedMillis / 1000)));
+
+			} catch (Exception e) {
+				status.addProperty("error", e.toString());
 			}
 
+			return status;
+
 		}, new JsonTransformer());
 
-		post("/database/tessellation", "application/json", (request, response) -> {
+		get("/database/tessellation/index/:tableName/:q/:r", "application/json", (request, response) -> {
+			JsonObject status = new JsonObject();
+
+			final CellIndex cellIndex = cellIndexes.get(request.params(":tableName"));
+			if (cellIndex == null) {
+				status.addProperty("error", "Index not loaded: " + request.params(":tableName"));
+				return status;
+			}
+
+			try {
+				final int index = cellIndex.indexOf(
+						Integer.parseInt(request.params(":q")), Integer.parseInt(request.params(":r")));
+				if (index < 0) {
+					response.status(404);
+					status.addProperty("error", "Cell not found");
+					return status;
+				}
+
+				JsonObject ccid = new JsonObject();
+				ccid.addProperty("q", cellIndex.getQ(index));
+				ccid.addProperty("r", cellIndex.getR(index));
+				ccid.addProperty("s", cellIndex.getS(index));
+				status.add("ccid", ccid);
+
+				JsonObject centroid = new JsonObject();
+				centroid.addProperty("longitude", cellIndex.getLongitude(index));
+				centroid.addProperty("latitude", cellIndex.getLatitude(index));
+				status.add("centroid", centroid);
+				status.addProperty("circumradius", cellIndex.getCircumradius());
+
+			} catch (NumberFormatException e) {
+				status.addProperty("error", e.toString());
+			}
+
+			return status;
+
+		}, new JsonTransformer());
+
+		post("/database/metrics", "application/json", (request, response) -> {
 			JsonObject status = new JsonObject();
 
 			try {
 				// Parse request payload to a JSONObject with Gson
 				JsonObject payload = gson.fromJson(request.body(), JsonObject.class);
 
-				// Check payload for required keys
-				boolean validKeys = false;
-				boolean validBoundary = false;
-				boolean validPayload = false;
-
-				// Required keys for the request payload
-				Set<String> requiredKeys = Set.of("administrativeName", "latitude", "longitude", "radius", "boundary");
-				if (payload.keySet().equals(requiredKeys)) {
-					// If payload has all required keys, then validKeys
-					validKeys = true;
-
-					// Continue to check members of payload key `boundary`
-					JsonObject boundary = payload.get("boundary").getAsJsonObject();
-					Set<String> requiredBoundaryKeys = Set.of("minLatitude", "minLongitude", "maxLatitude", "maxLongitude");
-					if (boundary.keySet().equals(requiredBoundaryKeys)) {
-						validBoundary = true;
+				final String tableName = payload.has("tableName") ? payload.get("tableName").getAsString() : null;
+				if (!PostgresJDBC.isValidTableName(tableName)) {
+					status.addProperty("error", "Invalid tableName: " + tableName);
+					return status;
+				}
+
+				// Aggregates of the cells, e.g. { "q": 1, "r": -1, "s": 0, "timeBucket": "2026-10-19T10:00:00Z", "count": 12, "sum": 340.5 }
+				final JsonArray aggregatesJsonArray = payload.get("aggregates").getAsJsonArray();
+				final List<CellAggregate> aggregates = new ArrayList<CellAggregate>(aggregatesJsonArray.size());
+				for (JsonElement element : aggregatesJsonArray) {
+					final JsonObject aggregate = element.getAsJsonObject();
+					aggregates.add(new CellAggregate(
+							aggregate.get("q").getAsInt(),
+							aggregate.get("r").getAsInt(),
+							aggregate.get("s").getAsInt(),
+							Instant.parse(aggregate.get("timeBucket").getAsString()),
+							aggregate.get("count").getAsLong(),
+							aggregate.get("sum").getAsDouble()));
+				}
+
+				PostgresJDBC pg = getPostgresJDBC();
+				final JsonObject createTableStatus = pg.createCellMetricsTable(tableName);
+				if (!createTableStatus.get("status").getAsString().equals("SUCCESS")) {
+					return createTableStatus;
+				}
+
+				return pg.upsertCellAggregates(tableName, aggregates);
+
+			} catch (Exception e) {
+				status.addProperty("error", e.toString());
+			}
+
+			return status;
+
+		}, new JsonTransformer());
+
+	}
+
+	/*
+	 * Tessellate and load the tessellation into the database (/database/tessellation
+	 * & its jobs), the job (null for synchronous requests) is notified of every
+	 * hexagon and ring of the tessellation.
+	 */
+	private static JsonObject tessellationToDatabase(JsonObject payload, TessellationJob job) {
+		JsonObject status = new JsonObject();
+
+		try {
+			// Check payload for required keys
+			boolean validKeys = false;
+			boolean validBoundary = false;
+			boolean validPayload = false;
+
+			// Required keys for the request payload
+			Set<String> requiredKeys = Set.of("administrativeName", "latitude", "longitude", "radius", "boundary");
+			// Optional keys, see the README for their default values
+			Set<String> optionalKeys = Set.of("loader", "connections", "fastLoad", "order", "partitions", "schema");
+			if (payload.keySet().containsAll(requiredKeys)
+					&& payload.keySet().stream().allMatch(key -> requiredKeys.contains(key) || optionalKeys.contains(key))) {
+				// If payload has all required keys (and only known optional keys), then validKeys
+				validKeys = true;
+
+				// Continue to check members of payload key `boundary`
+				JsonObject boundary = payload.get("boundary").getAsJsonObject();
+				Set<String> requiredBoundaryKeys = Set.of("minLatitude", "minLongitude", "maxLatitude", "maxLongitude");
+				if (boundary.keySet().equals(requiredBoundaryKeys)) {
+					validBoundary = true;
+				}
+			} else {
+				System.out.println("Invalid payload keys: " + payload.keySet());
+			}
+
+			// If both keys and boundary's members are valid, then the payload is valid
+			validPayload = validKeys && validBoundary;
+			if (validPayload) {
+				/*
+				 * Loader: "batch" (JDBC batch INSERT, default), "copy" (binary COPY),
+				 * "pipeline" (COPY while tessellating) or "resumable" (checkpointed COPY)
+				 */
+				final String loader = payload.has("loader")
+						? payload.get("loader").getAsString()
+						: "batch";
+				if (!Set.of("batch", "copy", "pipeline", "resumable").contains(loader)) {
+					status.addProperty("error", "Unsupported loader: " + loader);
+					return status;
+				}
+				// Order of the rows: "ring" (default, as generated) or "hilbert" (clustered)
+				final String order = payload.has("order")
+						? payload.get("order").getAsString()
+						: "ring";
+				if (!Set.of("ring", "hilbert").contains(order)) {
+					status.addProperty("error", "Unsupported order: " + order);
+					return status;
+				}
+				if (order.equals("hilbert") && loader.equals("pipeline")) {
+					// Sorting requires all hexagons, the pipeline loads them while they are generated
+					status.addProperty("error", "The pipeline loader cannot be combined with the order hilbert.");
+					return status;
+				}
+				if (loader.equals("resumable") && payload.has("fastLoad") && payload.get("fastLoad").getAsBoolean()) {
+					// The staging table of a fast load is dropped at each attempt, there is nothing to resume
+					status.addProperty("error", "The resumable loader cannot be combined with fastLoad.");
+					return status;
+				}
+				// Partitioned table, by ranges of ccid_q (default: 1, not partitioned)
+				final int partitions = payload.has("partitions")
+						? payload.get("partitions").getAsInt()
+						: 1;
+				if (partitions < 1) {
+					status.addProperty("error", "Invalid partitions: " + partitions);
+					return status;
+				}
+				if (partitions > 1 && (!loader.equals("copy")
+						|| (payload.has("fastLoad") && payload.get("fastLoad").getAsBoolean()))) {
+					// Rows are routed to the partitions by the COPY loader, which also builds the indexes per partition
+					status.addProperty("error", "A partitioned table requires the copy loader, without fastLoad.");
+					return status;
+				}
+				// Schema: "full" (default, polygons are stored) or "compact" (cell_id & centroid, polygons on read)
+				final String schema = payload.has("schema")
+						? payload.get("schema").getAsString()
+						: "full";
+				if (!Set.of("full", "compact").contains(schema)) {
+					status.addProperty("error", "Unsupported schema: " + schema);
+					return status;
+				}
+				final boolean compact = schema.equals("compact");
+				if (compact && (!loader.equals("copy") || partitions > 1
+						|| (payload.has("fastLoad") && payload.get("fastLoad").getAsBoolean()))) {
+					status.addProperty("error", "The compact schema requires the copy loader, without fastLoad or partitions.");
+					return status;
+				}
+
+				// Shared PostgresJDBC, connections are reused from its pool
+				PostgresJDBC pg = getPostgresJDBC();
+
+				// Extract Hexagon data from payload
+				final double longitude = payload.get("longitude").getAsDouble();
+				final double latitude = payload.get("latitude").getAsDouble();
+				final int circumradius = payload.get("radius").getAsInt();
+
+				// Create table name
+				final String TESSELLATION_TABLE_NAME = "%s_tessellation_%sm";
+				final String administrativeName = payload.get("administrativeName")
+						.getAsString();
+				final String tableName = String.format(
+						TESSELLATION_TABLE_NAME,
+						administrativeName,
+						circumradius);
+
+				// Fast load: load into an UNLOGGED staging table without indexes, then swap (default: false)
+				final boolean fastLoad = payload.has("fastLoad") && payload.get("fastLoad").getAsBoolean();
+				if (!PostgresJDBC.isValidTableName(tableName)
+						|| !PostgresJDBC.hasRoomForDerivedNames(tableName, partitions, fastLoad)) {
+					// Checked before tessellating, the names of partitions, staging table & indexes derive from it
+					status.addProperty("error", "Invalid or too long tableName: " + tableName);
+					return status;
+				}
+
+				// Create Hexagon
+				final Coordinates centroid = new Coordinates(longitude, latitude);
+				final Hexagon hexagon = new Hexagon(centroid, circumradius);
+
+				// Extract Boundary data from payload
+				JsonObject boundaryJsonObject = payload.get("boundary").getAsJsonObject();
+				final double minLat = boundaryJsonObject.get("minLatitude").getAsDouble();
+				final double minLng = boundaryJsonObject.get("minLongitude").getAsDouble();
+				final double maxLat = boundaryJsonObject.get("maxLatitude").getAsDouble();
+				final double maxLng = boundaryJsonObject.get("maxLongitude").getAsDouble();
+
+				// Create Boundary
+				final Coordinates minBoundaryCoordinates = new Coordinates(minLng, minLat);
+				final Coordinates maxBoundaryCoordinates = new Coordinates(maxLng, maxLat);
+				final Boundary boundary = new Boundary(minBoundaryCoordinates,
+						maxBoundaryCoordinates);
+
+				// Create Tessellation, the "pipeline" loader tessellates while loading
+				final CornerEdgeTessellation tessellation = new CornerEdgeTessellation(hexagon);
+				tessellation.setProgressListener(job);
+				if (!loader.equals("pipeline")) {
+					acquireTessellationPermit();
+					try {
+						tessellation.tessellate(boundary);
+						if (order.equals("hilbert")) {
+							tessellation.sortByHilbertCurve();
+						}
+					} finally {
+						tessellationPermits.release();
 					}
+				}
+				if (Thread.currentThread().isInterrupted()) {
+					// Job cancelled after its last ring, nothing is loaded yet
+					throw new CancellationException("Cancelled before loading.");
+				}
+				/*
+				 * The batch & resumable loaders commit as they go, they cannot roll back a
+				 * cancelled load: once they start, the job completes (primary key included)
+				 */
+				if (job != null && (loader.equals("batch") || loader.equals("resumable")) && !job.disableCancel()) {
+					throw new CancellationException("Cancelled before loading.");
+				}
+
+				System.out.println("--- Database Configs ---");
+				System.out.println("Table name: " + tableName);
+
+				// Number of parallel connections of the "copy" & "pipeline" loaders (default: 1)
+				final int connections = payload.has("connections")
+						? payload.get("connections").getAsInt()
+						: 1;
+
+				final String loadTableName = fastLoad ? PostgresJDBC.stagingTableName(tableName) : tableName;
+
+				// Database executions
+				// Partitions are cut from the q range of the tessellation
+				final TessellationPartitioning partitioning = partitions > 1
+						? TessellationPartitioning.of(tessellation.getGisHexagons(), partitions)
+						: null;
+
+				JsonObject createTableStatus;
+				if (compact) {
+					createTableStatus = pg.createCompactTessellationTable(tableName, circumradius);
+					status.add("createCompactTessellationTable", createTableStatus);
+				} else if (partitioning != null) {
+					createTableStatus = pg.createTessellationTable(tableName, partitioning);
+					status.add("createTessellationTable", createTableStatus);
+				} else if (fastLoad) {
+					createTableStatus = pg.createStagingTable(tableName);
+					status.add("createStagingTable", createTableStatus);
 				} else {
-					System.out.println("Invalid payload keys: " + payload.keySet());
-				}
-
-				// If both keys and boundary's members are valid, then the payload is valid
-				validPayload = validKeys && validBoundary;
-				if (validPayload) {
-					// Start PostgresJDBC connection
-					PostgresJDBC pg = new PostgresJDBC.Builder()
-							.host("POSTGRES_HOST")
-							.port(5432)
-							.database("POSTGRES_DATABASE")
-							.authentication("POSTGRES_USERNAME", "POSTGRES_PASSWORD")
-							.reWriteBatchedInserts(true) // Optional
-							.build();
-
-					// Extract Hexagon data from payload
-					final double longitude = payload.get("longitude").getAsDouble();
-					final double latitude = payload.get("latitude").getAsDouble();
-					final int circumradius = payload.get("radius").getAsInt();
-
-					// Create Hexagon
-					final Coordinates centroid = new Coordinates(longitude, latitude);
-					final Hexagon hexagon = new Hexagon(centroid, circumradius);
-
-					// Extract Boundary data from payload
-					JsonObject boundaryJsonObject = payload.get("boundary").getAsJsonObject();
-					final double minLat = boundaryJsonObject.get("minLatitude").getAsDouble();
-					final double minLng = boundaryJsonObject.get("minLongitude").getAsDouble();
-					final double maxLat = boundaryJsonObject.get("maxLatitude").getAsDouble();
-					final double maxLng = boundaryJsonObject.get("maxLongitude").getAsDouble();
-
-					// Create Boundary
-					final Coordinates minBoundaryCoordinates = new Coordinates(minLng, minLat);
-					final Coordinates maxBoundaryCoordinates = new Coordinates(maxLng, maxLat);
-					final Boundary boundary = new Boundary(minBoundaryCoordinates,
-							maxBoundaryCoordinates);
-
-					// Create Tessellation
-					final CornerEdgeTessellation tessellation = new CornerEdgeTessellation(hexagon);
-					tessellation.tessellate(boundary);
-
-					// Create table name
-					System.out.println("--- Database Configs ---");
-					final String TESSELLATION_TABLE_NAME = "%s_tessellation_%sm";
-					final String administrativeName = payload.get("administrativeName")
-							.getAsString();
-					final String tableName = String.format(
-							TESSELLATION_TABLE_NAME,
-							administrativeName,
-							circumradius);
-					System.out.println("Table name: " + tableName);
-
-					// Database executions
-					JsonObject createTableStatus;
 					createTableStatus = pg.createTessellationTable(tableName);
 					status.add("createTessellationTable", createTableStatus);
+				}
+
+				JsonObject loadStatus;
+				switch (loader) {
+					case "copy":
+						if (partitioning != null) {
+							loadStatus = pg.partitionedCopyTessellation(loadTableName, tessellation, partitioning,
+									connections);
+							status.add("partitionedCopyTessellation", loadStatus);
+							break;
+						}
+						loadStatus = pg.copyInsertTessellation(loadTableName, tessellation, connections, compact);
+						status.add("copyInsertTessellation", loadStatus);
+						break;
+
+					case "pipeline":
+						// The tessellation runs in pipelineCopyTessellation, it holds the permit while loading
+						acquireTessellationPermit();
+						try {
+							loadStatus = pg.pipelineCopyTessellation(loadTableName, tessellation, boundary,
+									connections);
+						} finally {
+							tessellationPermits.release();
+						}
+						status.add("pipelineCopyTessellation", loadStatus);
+						break;
+
+					case "resumable":
+						// Upserts (ON CONFLICT) require the primary key before loading
+						status.add("addPrimaryKeyIfNotExists", pg.addPrimaryKeyIfNotExists(tableName));
+						loadStatus = pg.resumableCopyTessellation(loadTableName, tessellation);
+						status.add("resumableCopyTessellation", loadStatus);
+						break;
+
+					default:
+						loadStatus = pg.batchInsertTessellation(loadTableName, tessellation);
+						status.add("batchInsertTessellation", loadStatus);
+						break;
+				}
 
-					JsonObject batchInsertStatus;
-					batchInsertStatus = pg.batchInsertTessellation(tableName, tessellation);
-					status.add("batchInsertTessellation", batchInsertStatus);
+				if (Thread.currentThread().isInterrupted()) {
+					/*
+					 * Job cancelled while loading: the COPY loaders waited for their workers to
+					 * roll back. Clear the interrupt to get a connection for the cleanup.
+					 */
+					Thread.interrupted();
+					if (fastLoad) {
+						pg.dropStagingTable(tableName);
+					}
+					throw new CancellationException("Cancelled while loading.");
+				}
 
+				if (compact) {
+					// Primary key on cell_id & GiST index on centroid
+					if (loadStatus.get("status").getAsString().equals("SUCCESS")) {
+						status.add("finishCompactLoad", pg.finishCompactLoad(tableName));
+					}
+				} else if (partitioning != null) {
+					// Indexes (PK, GiST) are built per partition by finishPartitionedLoad
+					if (loadStatus.get("status").getAsString().equals("SUCCESS")) {
+						status.add("finishPartitionedLoad", pg.finishPartitionedLoad(tableName, partitioning));
+					}
+				} else if (fastLoad) {
+					// Never swap a partially loaded staging table in place of the target table
+					final boolean loaded = loadStatus.has("status")
+							&& loadStatus.get("status").getAsString().equals("SUCCESS");
+					if (loaded) {
+						// Indexes (PK, GiST) are built by finishFastLoad
+						JsonObject finishFastLoadStatus;
+						finishFastLoadStatus = pg.finishFastLoad(tableName);
+						status.add("finishFastLoad", finishFastLoadStatus);
+					} else {
+						status.add("dropStagingTable", pg.dropStagingTable(tableName));
+					}
+				} else if (!loader.equals("resumable")) {
 					JsonObject addPrimaryKeyStatus;
 					addPrimaryKeyStatus = pg.addPrimaryKeyIfNotExists(tableName);
 					status.add("addPrimaryKeyIfNotExists", addPrimaryKeyStatus);
-
-					JVMUtils.printMemoryUsages("MB");
 				}
 
-			} catch (Exception e) {
-				status.addProperty("error", e.toString());
+				status.add("connectionPool", pg.getPoolMetrics());
+
+				JVMUtils.printMemoryUsages("MB");
 			}
 
-			return status;
+		} catch (CancellationException e) {
+			// Cancelled job, see TessellationJobs
+			throw e;
+		} catch (Exception e) {
+			status.addProperty("error", e.toString());
+		}
 
-		}, new JsonTransformer());
+		return status;
+	}
+
+	/* JSON body of the request, or its query parameters for GET (see HEXAGON_NUMBER_PARAMETERS) */
+	private static JsonObject payload(Request request) {
+		if (!request.requestMethod().equals("GET")) {
+			return gson.fromJson(request.body(), JsonObject.class);
+		}
+
+		final JsonObject payload = new JsonObject();
+		final JsonObject boundary = new JsonObject();
+		for (String name : request.queryParams()) {
+			if (BOUNDARY_PARAMETERS.contains(name)) {
+				boundary.addProperty(name, request.queryParams(name));
+			} else {
+				payload.addProperty(name, request.queryParams(name));
+			}
+		}
+		if (boundary.size() > 0) {
+			payload.add("boundary", boundary);
+		}
+
+		return payload;
+	}
+
+	/*
+	 * ETag & Cache-Control of the GET requests of the path, and 304 Not Modified
+	 * when If-None-Match matches, before any work is done. Number parameters are
+	 * required: without them the response is an error, which is not cached.
+	 */
+	private static void conditionalGet(String path, List<String> numberParameters, List<String> textParameters) {
+		before(path, (request, response) -> {
+			if (!request.requestMethod().equals("GET") || !request.queryParams().containsAll(numberParameters)) {
+				return;
+			}
+
+			final String etag;
+			try {
+				etag = ETags.of(path, request::queryParams, numberParameters, textParameters);
+			} catch (NumberFormatException e) {
+				// Invalid parameters, the route returns the error
+				return;
+			}
+
+			response.header("ETag", etag);
+			response.header("Cache-Control", CACHE_CONTROL);
+			if (ETags.matches(request.headers("If-None-Match"), etag)) {
+				halt(304);
+			}
+		});
+	}
+
+	/*
+	 * Invalid request: 400, without the ETag & Cache-Control set by conditionalGet
+	 * before the route, so that errors are never cached
+	 */
+	private static void badRequest(Response response) {
+		response.status(400);
+		response.raw().setHeader("ETag", null);
+		response.raw().setHeader("Cache-Control", "no-store");
+	}
+
+	/* /api/hexagon/batch & /api/neighbors/batch, format: ndjson (default) or geojsonseq */
+	private static String batch(Request request, Response response, boolean neighbors) throws IOException {
+		// Read the body first: query params of a form-encoded request would consume it
+		final byte[] body = request.bodyAsBytes();
+		final String format = request.queryParamOrDefault("format", "ndjson");
+		if (!format.equals("ndjson") && !format.equals("geojsonseq")) {
+			response.status(400);
+			return gson.toJson("Unsupported format: " + format);
+		}
+
+		final HexagonBatch batch;
+		try {
+			batch = HexagonBatch.parse(new InputStreamReader(
+					new ByteArrayInputStream(body), StandardCharsets.UTF_8), MAX_BATCH_SIZE);
+		} catch (IOException | RuntimeException e) {
+			response.status(400);
+			return gson.toJson("Invalid JSON data provided: " + e.getMessage());
+		}
+
+		final GeoJsonBatchWriter writer = new GeoJsonBatchWriter(
+				response.raw().getOutputStream(), format.equals("geojsonseq"));
+		response.type(writer.getContentType());
+		if (neighbors) {
+			writer.writeNeighbors(batch);
+		} else {
+			writer.writeHexagons(batch);
+		}
+		response.raw().flushBuffer();
+		return "";
+	}
+
+	/* Permit to tessellate, see tessellationPermits */
+	private static void acquireTessellationPermit() {
+		try {
+			tessellationPermits.acquire();
+		} catch (InterruptedException e) {
+			throw new CancellationException("Cancelled while waiting to tessellate.");
+		}
+	}
+
+	/* Route the requests of the paths through the bulkhead, see Bulkhead */
+	private static void bulkhead(Bulkhead bulkhead, String... paths) {
+		for (String path : paths) {
+			before(path, (request, response) -> {
+				if (!bulkhead.tryEnter()) {
+					JsonObject status = new JsonObject();
+					status.addProperty("error", "Too many " + bulkhead.getName() + " requests, retry later.");
+
+					response.header("Retry-After", "1");
+					halt(503, gson.toJson(status));
+				}
+				request.attribute(BULKHEAD_ATTRIBUTE, bulkhead);
+			});
+
+			// Also runs after halt() or an exception, only exit if the request entered
+			afterAfter(path, (request, response) -> {
+				final Bulkhead enteredBulkhead = request.attribute(BULKHEAD_ATTRIBUTE);
+				if (enteredBulkhead != null) {
+					request.raw().removeAttribute(BULKHEAD_ATTRIBUTE);
+					enteredBulkhead.exit();
+				}
+			});
+		}
+	}
+
+	private static synchronized PostgresJDBC getPostgresJDBC() {
+		if (postgresJDBC == null) {
+			postgresJDBC = new PostgresJDBC.Builder()
+					.host("POSTGRES_HOST")
+					.port(5432)
+					.database("POSTGRES_DATABASE")
+					.authentication("POSTGRES_USERNAME", "POSTGRES_PASSWORD")
+					.reWriteBatchedInserts(true) // Optional
+					.maxPoolSize(DATABASE_MAX_CONNECTIONS)
+					.build();
+		}
 
+		return postgresJDBC;
 	}
 }
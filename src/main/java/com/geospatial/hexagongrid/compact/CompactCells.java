@@ -0,0 +1,142 @@
+package com.geospatial.hexagongrid.compact;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+import java.util.List;
+
+import com.geospatial.hexagongrid.geodesy.SphericalMercatorProjection;
+import com.geospatial.hexagongrid.hexagon.Coordinates;
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.index.CubeCoordinatesIndex;
+import com.geospatial.hexagongrid.tessellation.CornerEdgeTessellation;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * CompactCells
+ *
+ * All hexagons of a grid have the same circumradius, so a hexagon is fully
+ * determined by its CCI (q, r) and the root hexagon (CCI 0, 0, 0). This format
+ * only ships the root parameters and the (q, r) of each cell, clients rebuild
+ * the polygons with:
+ *
+ * 	centroidLongitude = root.longitude + q * 1.5 * circumradiusLongitude
+ * 	centroidLatitude = root.latitude + (q + 2r) * inradiusLatitude
+ *
+ * 	vertices (clockwise, same as GeoJSON output, the first vertex closes the ring):
+ * 	(lng - circumradiusLongitude / 2, lat - inradiusLatitude)
+ * 	(lng + circumradiusLongitude / 2, lat - inradiusLatitude)
+ * 	(lng + circumradiusLongitude, lat)
+ * 	(lng + circumradiusLongitude / 2, lat + inradiusLatitude)
+ * 	(lng - circumradiusLongitude / 2, lat + inradiusLatitude)
+ * 	(lng - circumradiusLongitude, lat)
+ *
+ * s is always -q - r.
+ *
+ * --- ENCODINGS
+ * 	- "qr": cells is an array of integers [q0, r0, q1, r1, ...]
+ * 	- "qr-varint": cells is a base64 string of the same integers, each one stored as
+ * the difference to the previous q (or r), zigzag & varint (LEB128) encoded. Cells
+ * of a tessellation are adjacent, so most cells take 2 bytes.
+ */
+@ToString
+@Getter
+public class CompactCells {
+	public static final String ENCODING_QR = "qr";
+	public static final String ENCODING_QR_VARINT = "qr-varint";
+
+	private final String type = "HexagonCells";
+	private final String encoding;
+	private final Coordinates root;
+	private final double circumradius;
+	private final double inradius;
+	private final double circumradiusLongitude;
+	private final double inradiusLatitude;
+	private final int count;
+	@ToString.Exclude
+	private final Object cells;
+
+	/* Constructors */
+	public CompactCells(CornerEdgeTessellation tessellation, String encoding) {
+		this(tessellation.getGisHexagons(), encoding);
+	}
+
+	public CompactCells(List<Hexagon> hexagons, String encoding) {
+		if (hexagons.isEmpty()) {
+			throw new IllegalArgumentException("Cannot create CompactCells without hexagons.");
+		}
+
+		final Hexagon firstHexagon = hexagons.get(0);
+		this.circumradius = firstHexagon.getCircumradius();
+		this.inradius = firstHexagon.getInradius();
+		this.circumradiusLongitude = SphericalMercatorProjection.xToLongitude(circumradius);
+		this.inradiusLatitude = SphericalMercatorProjection.yToLatitude(inradius);
+
+		// Root centroid (CCI 0, 0, 0), derived from the first hexagon in case it is not the root
+		final Coordinates firstCentroid = firstHexagon.getCentroid();
+		final CubeCoordinatesIndex firstCCI = firstHexagon.getCCI();
+		this.root = new Coordinates(
+				firstCentroid.getLongitude() - firstCCI.getQ() * 1.5 * circumradiusLongitude,
+				firstCentroid.getLatitude() - (firstCCI.getQ() + 2 * firstCCI.getR()) * inradiusLatitude);
+
+		this.count = hexagons.size();
+		this.encoding = encoding;
+
+		switch (encoding) {
+			case ENCODING_QR:
+				this.cells = encodeQR(hexagons);
+				break;
+			case ENCODING_QR_VARINT:
+				this.cells = encodeQRVarint(hexagons);
+				break;
+			default:
+				throw new IllegalArgumentException("Unsupported encoding: " + encoding);
+		}
+	}
+
+	/* Internal methods */
+	private static final int[] encodeQR(List<Hexagon> hexagons) {
+		final int[] cells = new int[hexagons.size() * 2];
+
+		for (int i = 0; i < hexagons.size(); i++) {
+			final CubeCoordinatesIndex cci = hexagons.get(i).getCCI();
+			cells[i * 2] = cci.getQ();
+			cells[i * 2 + 1] = cci.getR();
+		}
+
+		return cells;
+	}
+
+	private static final String encodeQRVarint(List<Hexagon> hexagons) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(hexagons.size() * 2);
+
+		int previousQ = 0;
+		int previousR = 0;
+		for (Hexagon hexagon : hexagons) {
+			final CubeCoordinatesIndex cci = hexagon.getCCI();
+
+			writeVarint(bytes, zigzag(cci.getQ() - previousQ));
+			writeVarint(bytes, zigzag(cci.getR() - previousR));
+
+			previousQ = cci.getQ();
+			previousR = cci.getR();
+		}
+
+		return Base64.getEncoder().encodeToString(bytes.toByteArray());
+	}
+
+	// Map signed integers to unsigned: 0 -> 0, -1 -> 1, 1 -> 2, -2 -> 3...
+	private static final int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	// LEB128: 7 bits per byte, the highest bit is set when more bytes follow
+	private static final void writeVarint(ByteArrayOutputStream bytes, int value) {
+		while ((value & ~0x7F) != 0) {
+			bytes.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		bytes.write(value);
+	}
+}
@@ -0,0 +1,37 @@
+package com.geospatial.hexagongrid.database;
+
+import java.time.Instant;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * CellAggregate
+ *
+ * Aggregate of the values binned into a cell (CCI) during a time bucket: number
+ * of values and their sum. Aggregates of the same cell and time bucket are
+ * merged by adding their counts and sums, see PostgresJDBC.upsertCellAggregates.
+ */
+@Getter
+@ToString
+public class CellAggregate {
+	private final int q;
+	private final int r;
+	private final int s;
+	private final Instant timeBucket;
+	private final long count;
+	private final double sum;
+
+	public CellAggregate(int q, int r, int s, Instant timeBucket, long count, double sum) {
+		if (q + r + s != 0) {
+			throw new IllegalArgumentException(String.format("Invalid CCI (%s, %s, %s): q + r + s must be 0", q, r, s));
+		}
+
+		this.q = q;
+		this.r = r;
+		this.s = s;
+		this.timeBucket = timeBucket;
+		this.count = count;
+		this.sum = sum;
+	}
+}
@@ -0,0 +1,329 @@
+package com.geospatial.hexagongrid.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.gson.JsonObject;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * ConnectionPool
+ *
+ * A bounded pool of JDBC connections, so that each operation does not open a
+ * new TCP connection and authenticate again.
+ *
+ * 	- At most maxSize connections are borrowed at the same time, borrow() waits
+ * up to connectionTimeoutMillis for one to be returned. borrow(count) waits for
+ * count connections at once.
+ * 	- Borrowed connections are proxies: close() returns the connection to the
+ * pool (rolled back and reset to auto-commit) instead of closing it.
+ * 	- Idle connections are validated with isValid() before being borrowed again,
+ * and closed by a background task once idle for more than maxIdleMillis.
+ * 	- Wait time metrics tell whether maxSize is too small for the workload.
+ */
+@ToString
+class ConnectionPool implements AutoCloseable {
+	private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+	@ToString.Exclude
+	private final String url;
+	@ToString.Exclude
+	private final Properties properties;
+
+	@Getter
+	private final int maxSize;
+	private final long connectionTimeoutMillis;
+	private final long maxIdleMillis;
+
+	/* Idle connections, the most recently returned first (LIFO keeps the others idle so they can be evicted) */
+	@ToString.Exclude
+	private final Deque<IdleConnection> idleConnections = new ArrayDeque<IdleConnection>();
+	@ToString.Exclude
+	private final Semaphore permits;
+	@ToString.Exclude
+	private final ScheduledExecutorService evictor;
+
+	private volatile boolean closed = false;
+
+	/* Metrics */
+	private final AtomicLong borrowed = new AtomicLong();
+	private final AtomicLong created = new AtomicLong();
+	private final AtomicLong evicted = new AtomicLong();
+	private final AtomicLong invalid = new AtomicLong();
+	private final AtomicLong timeouts = new AtomicLong();
+	private final AtomicLong totalWaitNanos = new AtomicLong();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+
+	ConnectionPool(String url, Properties properties, int maxSize, long connectionTimeoutMillis, long maxIdleMillis) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize must be >= 1, currently: " + maxSize);
+		}
+
+		this.url = url;
+		this.properties = properties;
+		this.maxSize = maxSize;
+		this.connectionTimeoutMillis = connectionTimeoutMillis;
+		this.maxIdleMillis = maxIdleMillis;
+		this.permits = new Semaphore(maxSize, true);
+
+		this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "connection-pool-evictor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		final long evictionPeriodMillis = Math.max(1000, maxIdleMillis / 2);
+		this.evictor.scheduleAtFixedRate(this::evictIdleConnections,
+				evictionPeriodMillis, evictionPeriodMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/* Methods */
+	final Connection borrow() throws SQLException {
+		return borrow(1).get(0);
+	}
+
+	/*
+	 * Borrow count connections together, all or nothing. Workers that commit
+	 * together (see PostgresJDBC.copyWorker) must not hold part of the pool while
+	 * waiting for the rest of their connections: two such loads would each wait for
+	 * the connections of the other until they time out.
+	 */
+	final List<Connection> borrow(int count) throws SQLException {
+		if (count < 1 || count > maxSize) {
+			throw new SQLException(String.format("Cannot borrow %s connections (maxSize: %s).", count, maxSize));
+		}
+		if (closed) {
+			throw new SQLException("Connection pool is closed.");
+		}
+
+		// Wait for count free slots, acquired at once (fair semaphore: no barging by smaller requests)
+		final long waitStart = System.nanoTime();
+		try {
+			if (!permits.tryAcquire(count, connectionTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				timeouts.incrementAndGet();
+				throw new SQLException(String.format(
+						"Timed out after %sms waiting for %s connection(s) (maxSize: %s).",
+						connectionTimeoutMillis, count, maxSize));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a connection.", e);
+		}
+		final long waitNanos = System.nanoTime() - waitStart;
+		totalWaitNanos.addAndGet(waitNanos);
+		maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+
+		final List<Connection> connections = new ArrayList<Connection>(count);
+		try {
+			for (int i = 0; i < count; i++) {
+				// Reuse a valid idle connection, or create a new one
+				Connection connection;
+				while ((connection = pollIdleConnection()) != null) {
+					if (isValid(connection)) {
+						break;
+					}
+					invalid.incrementAndGet();
+					closeQuietly(connection);
+				}
+
+				if (connection == null) {
+					connection = DriverManager.getConnection(url, properties);
+					created.incrementAndGet();
+				}
+
+				borrowed.incrementAndGet();
+				connections.add(wrap(connection));
+			}
+
+			return connections;
+
+		} catch (SQLException | RuntimeException e) {
+			// Give back the connections already borrowed (each releases its slot), then the other slots
+			for (Connection connection : connections) {
+				closeQuietly(connection);
+			}
+			permits.release(count - connections.size());
+			throw e;
+		}
+	}
+
+	final JsonObject getMetrics() {
+		final JsonObject metrics = new JsonObject();
+		final long borrowedCount = borrowed.get();
+
+		metrics.addProperty("maxSize", maxSize);
+		metrics.addProperty("active", maxSize - permits.availablePermits());
+		metrics.addProperty("idle", idleCount());
+		metrics.addProperty("waiting", permits.getQueueLength());
+		metrics.addProperty("borrowed", borrowedCount);
+		metrics.addProperty("created", created.get());
+		metrics.addProperty("evicted", evicted.get());
+		metrics.addProperty("invalid", invalid.get());
+		metrics.addProperty("timeouts", timeouts.get());
+		metrics.addProperty("averageWaitMillis",
+				borrowedCount == 0 ? 0 : totalWaitNanos.get() / borrowedCount / 1e6);
+		metrics.addProperty("maxWaitMillis", maxWaitNanos.get() / 1e6);
+
+		return metrics;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		evictor.shutdownNow();
+
+		synchronized (idleConnections) {
+			for (IdleConnection idle : idleConnections) {
+				closeQuietly(idle.connection);
+			}
+			idleConnections.clear();
+		}
+	}
+
+	/* Internal methods */
+	private final Connection pollIdleConnection() {
+		synchronized (idleConnections) {
+			final IdleConnection idle = idleConnections.pollFirst();
+			return idle == null ? null : idle.connection;
+		}
+	}
+
+	private final int idleCount() {
+		synchronized (idleConnections) {
+			return idleConnections.size();
+		}
+	}
+
+	/* Called by the proxy's close() */
+	private final void giveBack(Connection connection) {
+		try {
+			// Do not leak a transaction or settings to the next borrower
+			if (!connection.getAutoCommit()) {
+				connection.rollback();
+				connection.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			// Broken connection, do not return it to the pool
+			invalid.incrementAndGet();
+			closeQuietly(connection);
+			connection = null;
+		}
+
+		if (connection != null) {
+			if (closed) {
+				closeQuietly(connection);
+			} else {
+				synchronized (idleConnections) {
+					idleConnections.addFirst(new IdleConnection(connection, System.currentTimeMillis()));
+				}
+			}
+		}
+
+		permits.release();
+	}
+
+	private final void evictIdleConnections() {
+		final long now = System.currentTimeMillis();
+
+		synchronized (idleConnections) {
+			final Iterator<IdleConnection> iterator = idleConnections.iterator();
+			while (iterator.hasNext()) {
+				final IdleConnection idle = iterator.next();
+				if (now - idle.idleSince > maxIdleMillis) {
+					iterator.remove();
+					closeQuietly(idle.connection);
+					evicted.incrementAndGet();
+				}
+			}
+		}
+	}
+
+	private static final boolean isValid(Connection connection) {
+		try {
+			return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private static final void closeQuietly(Connection connection) {
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			// Already broken, nothing else to do
+		}
+	}
+
+	/* Proxy: close() gives the connection back, every other method is delegated */
+	private final Connection wrap(Connection connection) {
+		final InvocationHandler handler = new InvocationHandler() {
+			private boolean returned = false;
+
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				switch (method.getName()) {
+					case "close":
+						if (!returned) {
+							returned = true;
+							giveBack(connection);
+						}
+						return null;
+
+					case "isClosed":
+						return returned || connection.isClosed();
+
+					// Identity of the proxy, not of the pooled connection
+					case "equals":
+						return proxy == args[0];
+
+					case "hashCode":
+						return System.identityHashCode(proxy);
+
+					case "toString":
+						return "Pooled " + connection;
+
+					default:
+						if (returned) {
+							throw new SQLException("Connection has been returned to the pool.");
+						}
+
+						try {
+							return method.invoke(connection, args);
+						} catch (InvocationTargetException e) {
+							throw e.getCause();
+						}
+				}
+			}
+		};
+
+		return (Connection) Proxy.newProxyInstance(
+				ConnectionPool.class.getClassLoader(), new Class<?>[] { Connection.class }, handler);
+	}
+
+	private static final class IdleConnection {
+		private final Connection connection;
+		private final long idleSince;
+
+		private IdleConnection(Connection connection, long idleSince) {
+			this.connection = connection;
+			this.idleSince = idleSince;
+		}
+	}
+}
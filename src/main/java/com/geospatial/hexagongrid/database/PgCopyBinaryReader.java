@@ -0,0 +1,96 @@
+package com.geospatial.hexagongrid.database;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/*
+ * PgCopyBinaryReader
+ *
+ * Reads rows in the binary format of PostgreSQL's COPY ... TO STDOUT (FORMAT binary),
+ * the counterpart of PgCopyBinaryWriter (see there for the layout).
+ *
+ * Usage: while (reader.nextRow()) { reader.readInt(); ... } - fields must be read
+ * in the order of the COPY columns, and all fields of a row must be read.
+ */
+class PgCopyBinaryReader {
+	private static final byte[] SIGNATURE = {
+			'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+	private static final short TRAILER = -1;
+	private static final int NULL_LENGTH = -1;
+
+	private final DataInputStream in;
+	private byte[] bytesBuffer = new byte[256];
+
+	private int fieldsCount = 0;
+
+	PgCopyBinaryReader(InputStream inputStream) throws IOException {
+		this.in = new DataInputStream(new BufferedInputStream(inputStream, 1 << 16));
+
+		final byte[] signature = new byte[SIGNATURE.length];
+		in.readFully(signature);
+		if (!Arrays.equals(SIGNATURE, signature)) {
+			throw new IOException("Invalid binary COPY signature.");
+		}
+		in.readInt(); // flags
+		in.skipNBytes(in.readInt()); // header extension
+	}
+
+	/* Methods */
+	final boolean nextRow() throws IOException {
+		final short fields = in.readShort();
+		if (fields == TRAILER) {
+			return false;
+		}
+
+		this.fieldsCount = fields;
+		return true;
+	}
+
+	final int getFieldsCount() {
+		return fieldsCount;
+	}
+
+	final int readInt() throws IOException {
+		readLength(4);
+		return in.readInt();
+	}
+
+	final long readLong() throws IOException {
+		readLength(8);
+		return in.readLong();
+	}
+
+	final double readDouble() throws IOException {
+		readLength(8);
+		return in.readDouble();
+	}
+
+	/*
+	 * Variable length field (e.g. bytea, geometry as EWKB). The returned array is
+	 * reused by the next call, only its first `length` bytes are the value.
+	 */
+	final byte[] readBytes() throws IOException {
+		final int length = in.readInt();
+		if (length == NULL_LENGTH) {
+			throw new IOException("Unexpected NULL field.");
+		}
+
+		if (bytesBuffer.length < length) {
+			bytesBuffer = new byte[length];
+		}
+		in.readFully(bytesBuffer, 0, length);
+
+		return bytesBuffer;
+	}
+
+	/* Internal methods */
+	private final void readLength(int expectedLength) throws IOException {
+		final int length = in.readInt();
+		if (length != expectedLength) {
+			throw new IOException(String.format("Expected a field of %s bytes, currently: %s", expectedLength, length));
+		}
+	}
+}
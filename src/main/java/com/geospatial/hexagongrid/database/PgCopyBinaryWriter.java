@@ -0,0 +1,132 @@
+package com.geospatial.hexagongrid.database;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.index.CubeCoordinatesIndex;
+import com.geospatial.hexagongrid.wkb.WkbWriter;
+
+/*
+ * PgCopyBinaryWriter
+ *
+ * Writes rows in the binary format of PostgreSQL's COPY ... FROM STDIN (FORMAT binary):
+ * - https://www.postgresql.org/docs/current/sql-copy.html#id-1.9.3.55.9.4
+ *
+ * 	- header: signature "PGCOPY\n\377\r\n\0", flags (int32), header extension length (int32)
+ * 	- each tuple: field count (int16), then for each field: length (int32) and
+ * the value in the type's binary (send/recv) format, big-endian
+ * 	- trailer: -1 (int16)
+ *
+ * The binary format of PostGIS geometry is (E)WKB, so the geometries encoded by
+ * WkbWriter are copied as they are.
+ */
+class PgCopyBinaryWriter {
+	private static final byte[] SIGNATURE = {
+			'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+	private static final short TRAILER = -1;
+
+	/* Columns of a tessellation row (see tessellationRow) */
+	static final String TESSELLATION_COLUMNS = "ccid_q, ccid_r, ccid_s, circumradius, centroid, geometry";
+	private static final short TESSELLATION_FIELDS = 6;
+
+	/* Columns of a compact tessellation row (see compactTessellationRow) */
+	static final String COMPACT_TESSELLATION_COLUMNS = "cell_id, centroid";
+	private static final short COMPACT_TESSELLATION_FIELDS = 2;
+
+	/* Columns of a cell aggregate row (see cellAggregateRow) */
+	static final String CELL_AGGREGATE_COLUMNS = "ccid_q, ccid_r, ccid_s, time_bucket, value_count, value_sum";
+	private static final short CELL_AGGREGATE_FIELDS = 6;
+
+	// timestamptz is sent as microseconds since 2000-01-01 00:00:00 UTC
+	private static final Instant POSTGRES_EPOCH = Instant.parse("2000-01-01T00:00:00Z");
+
+	private final DataOutputStream out;
+	private final WkbWriter wkbWriter = new WkbWriter();
+
+	private long rows = 0;
+
+	PgCopyBinaryWriter(OutputStream outputStream) throws IOException {
+		this.out = new DataOutputStream(new BufferedOutputStream(outputStream, 1 << 16));
+
+		out.write(SIGNATURE);
+		out.writeInt(0); // flags: no OIDs
+		out.writeInt(0); // header extension length
+	}
+
+	/* Methods */
+	final void tessellationRow(Hexagon hexagon) throws IOException {
+		final CubeCoordinatesIndex cci = hexagon.getCCI();
+
+		out.writeShort(TESSELLATION_FIELDS);
+		writeInt(cci.getQ());
+		writeInt(cci.getR());
+		writeInt(cci.getS());
+		writeDouble(hexagon.getCircumradius());
+		writeBytes(wkbWriter.writePoint(hexagon.getCentroid()));
+		writeBytes(wkbWriter.writePolygon(hexagon));
+
+		rows++;
+	}
+
+	/* Compact schema: the polygon is derived from the centroid on read */
+	final void compactTessellationRow(Hexagon hexagon) throws IOException {
+		out.writeShort(COMPACT_TESSELLATION_FIELDS);
+		writeLong(hexagon.getCCI().getCellId());
+		writeBytes(wkbWriter.writePoint(hexagon.getCentroid()));
+
+		rows++;
+	}
+
+	final void cellAggregateRow(CellAggregate aggregate) throws IOException {
+		out.writeShort(CELL_AGGREGATE_FIELDS);
+		writeInt(aggregate.getQ());
+		writeInt(aggregate.getR());
+		writeInt(aggregate.getS());
+		writeTimestamp(aggregate.getTimeBucket());
+		writeLong(aggregate.getCount());
+		writeDouble(aggregate.getSum());
+
+		rows++;
+	}
+
+	final long getRows() {
+		return rows;
+	}
+
+	/* Write the trailer and flush, the underlying stream is not closed */
+	final void finish() throws IOException {
+		out.writeShort(TRAILER);
+		out.flush();
+	}
+
+	/* Fields */
+	private final void writeInt(int value) throws IOException {
+		out.writeInt(4);
+		out.writeInt(value);
+	}
+
+	private final void writeLong(long value) throws IOException {
+		out.writeInt(8);
+		out.writeLong(value);
+	}
+
+	private final void writeTimestamp(Instant value) throws IOException {
+		writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, value));
+	}
+
+	private final void writeDouble(double value) throws IOException {
+		out.writeInt(8);
+		out.writeDouble(value);
+	}
+
+	private final void writeBytes(ByteBuffer buffer) throws IOException {
+		out.writeInt(buffer.remaining());
+		out.write(buffer.array(), buffer.position(), buffer.remaining());
+	}
+}
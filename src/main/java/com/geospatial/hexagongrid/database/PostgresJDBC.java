@@ -1,30 +1,61 @@
 package com.geospatial.hexagongrid.database;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.BatchUpdateException;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Properties;
-
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.geospatial.hexagongrid.geodesy.SphericalMercatorProjection;
 import com.geospatial.hexagongrid.hexagon.Coordinates;
 import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.index.CellIndex;
 import com.geospatial.hexagongrid.index.CubeCoordinatesIndex;
 import com.geospatial.hexagongrid.tessellation.Boundary;
 import com.geospatial.hexagongrid.tessellation.CornerEdgeTessellation;
 import com.geospatial.hexagongrid.utils.JVMUtils;
+import com.geospatial.hexagongrid.wkb.WkbReader;
+import com.geospatial.hexagongrid.wkb.WkbWriter;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyInputStream;
+import org.postgresql.copy.PGCopyOutputStream;
+
 import io.github.cdimascio.dotenv.Dotenv;
 import lombok.Getter;
 import lombok.ToString;
 
 @ToString
-public class PostgresJDBC {
+public class PostgresJDBC implements AutoCloseable {
         private static final String DBMS_URL = "jdbc:postgresql:";
         private final String pgjdbcUrl;
         @Getter
@@ -36,30 +67,80 @@ public class PostgresJDBC {
         @ToString.Exclude
         private final Properties properties;
 
+        @ToString.Exclude
+        private final ConnectionPool connectionPool;
+
+        private static final int MAX_IDENTIFIER_LENGTH = 63;
+        private static final Pattern TABLE_NAME_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,62}");
+        private static final int READ_FETCH_SIZE = 5000;
+        private static final Pattern TESSELLATION_TABLE_RADIUS_PATTERN = Pattern.compile(".+_tessellation_(\\d+(?:\\.\\d+)?)m");
+
+        /* resumableCopyTessellation */
+        private static final String CHECKPOINTS_TABLE_NAME = "tessellation_load_checkpoints";
+        private static final int RESUMABLE_CHUNK_SIZE = 50000;
+
+        /*
+         * Polygon of a hexagon from its centroid (degrees) and circumradius (meters),
+         * same vertices as Hexagon.generateGisVertices (SphericalMercatorProjection)
+         */
+        private static final String HEXAGON_POLYGON_FUNCTION_SQL = """
+                        CREATE OR REPLACE FUNCTION hexagon_polygon(centroid geometry, circumradius float8)
+                        RETURNS geometry
+                        LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+                        AS $$
+                                SELECT ST_SetSRID(ST_MakePolygon(ST_MakeLine(ARRAY[
+                                        ST_MakePoint(x - dx / 2, y - dy),
+                                        ST_MakePoint(x + dx / 2, y - dy),
+                                        ST_MakePoint(x + dx, y),
+                                        ST_MakePoint(x + dx / 2, y + dy),
+                                        ST_MakePoint(x - dx / 2, y + dy),
+                                        ST_MakePoint(x - dx, y),
+                                        ST_MakePoint(x - dx / 2, y - dy)
+                                ])), ST_SRID(centroid))
+                                FROM (SELECT ST_X(centroid) AS x, ST_Y(centroid) AS y,
+                                        degrees(circumradius / 6378137.0) AS dx,
+                                        degrees(atan(exp(circumradius * sqrt(3) / 2 / 6378137.0)) * 2 - pi() / 2) AS dy
+                                ) AS hexagon
+                        $$;
+                        """;
+
+        /* pipelineCopyTessellation defaults */
+        // Longest wait of a COPY worker for the others, see copyWorker
+        private static final long COMMIT_BARRIER_TIMEOUT_MINUTES = 30;
+
+        private static final int PIPELINE_BATCH_SIZE = 5000;
+        private static final int PIPELINE_QUEUE_CAPACITY = 16;
+        private static final long PIPELINE_POLL_MILLIS = 100;
+
         public PostgresJDBC(Builder builder) {
                 this.host = builder.host;
                 this.port = builder.port;
                 this.database = builder.database;
                 this.properties = builder.properties;
                 this.pgjdbcUrl = generateJDBCUrl();
+
+                // https://stackoverflow.com/questions/62426544/no-suitable-driver-found-for-jdbcpostgresql-but-i-have-install-driver
+                try {
+                        Class.forName("org.postgresql.Driver");
+                } catch (ClassNotFoundException e) {
+                        e.printStackTrace();
+                }
+
+                this.connectionPool = new ConnectionPool(pgjdbcUrl, properties,
+                                builder.maxPoolSize,
+                                builder.connectionTimeoutSeconds * 1000L,
+                                builder.maxIdleSeconds * 1000L);
         }
 
         /* Public methods */
+        /*
+         * Borrow a connection from the pool, close() returns it to the pool.
+         * Returns null if no connection can be obtained.
+         */
         public final Connection getConnection() {
                 Connection connection = null;
                 try {
-                        // https://stackoverflow.com/questions/62426544/no-suitable-driver-found-for-jdbcpostgresql-but-i-have-install-driver
-                        try {
-                                Class.forName("org.postgresql.Driver");
-                        } catch (ClassNotFoundException e) {
-                                // TODO Auto-generated catch block
-                                e.printStackTrace();
-                        }
-
-                        connection = DriverManager.getConnection(pgjdbcUrl, properties);
-                        System.out.println("\n"
-                                        + "Connected to the PostgreSQL server as user: "
-                                        + connection.getMetaData().getUserName());
+                        connection = connectionPool.borrow();
 
                 } catch (SQLException e) {
                         printSQLException(e);
@@ -68,6 +149,36 @@ public class PostgresJDBC {
                 return connection;
         }
 
+        /*
+         * Borrow count connections together, all or nothing (see ConnectionPool.borrow).
+         * Returns null if they cannot be obtained.
+         */
+        public final List<Connection> getConnections(int count) {
+                List<Connection> connections = null;
+                try {
+                        connections = connectionPool.borrow(count);
+
+                } catch (SQLException e) {
+                        printSQLException(e);
+                }
+
+                return connections;
+        }
+
+        public final int getMaxPoolSize() {
+                return connectionPool.getMaxSize();
+        }
+
+        public final JsonObject getPoolMetrics() {
+                return connectionPool.getMetrics();
+        }
+
+        /* Close all idle connections of the pool */
+        @Override
+        public void close() {
+                connectionPool.close();
+        }
+
         public final void fetchTable(String tableName, int rowsLimit) {
                 final String sql = """
                                 SELECT * FROM %s
@@ -107,37 +218,506 @@ public class PostgresJDBC {
                 }
         }
 
+        /*
+         * Table names are formatted into SQL statements, so those received from
+         * clients must be plain identifiers (PostgreSQL: at most 63 characters)
+         */
+        public static final boolean isValidTableName(String tableName) {
+                return tableName != null && TABLE_NAME_PATTERN.matcher(tableName).matches();
+        }
+
+        /*
+         * PostgreSQL truncates identifiers to 63 bytes, so the names derived from a
+         * table name (staging table, partitions, indexes) must fit as well, otherwise
+         * two of them can be truncated to the same name
+         */
+        public static final boolean hasRoomForDerivedNames(String tableName, int partitions, boolean fastLoad) {
+                String longestTableName = fastLoad ? stagingTableName(tableName) : tableName;
+                if (partitions > 1) {
+                        longestTableName = TessellationPartitioning.partitionName(longestTableName, partitions - 1);
+                }
+
+                // Longest index suffixes: _centroid_idx, _geometry_idx
+                return (longestTableName + "_geometry_idx").length() <= MAX_IDENTIFIER_LENGTH;
+        }
+
+        public final boolean tableExists(String tableName) throws SQLException {
+                try (Connection connection = getConnection();
+                                PreparedStatement statement = connection.prepareStatement("SELECT to_regclass(?) IS NOT NULL")) {
+                        statement.setString(1, tableName);
+                        try (ResultSet rs = statement.executeQuery()) {
+                                return rs.next() && rs.getBoolean(1);
+                        }
+                }
+        }
+
+        /*
+         * Stream the rows of a tessellation table that intersect a boundary
+         *
+         * The rows are read with a server-side cursor (setFetchSize, which requires
+         * auto-commit off), so only fetchSize rows are in memory at a time, and the
+         * geometries are read as WKB instead of text. Returns the number of rows.
+         */
+        public final long streamTessellationBbox(String tableName, Boundary boundary, TessellationRowHandler handler)
+                        throws SQLException, IOException {
+                final String sql = String.format("""
+                                SELECT ccid_q, ccid_r, ccid_s, circumradius, ST_AsBinary(centroid), ST_AsBinary(geometry)
+                                FROM %s
+                                WHERE geometry && ST_MakeEnvelope(?, ?, ?, ?, 4326)
+                                """, tableName);
+
+                long rows = 0;
+                try (Connection connection = getConnection()) {
+                        if (isCompactTessellationTable(connection, tableName)) {
+                                return streamCompactTessellationBbox(connection, tableName, boundary, handler);
+                        }
+
+                        connection.setAutoCommit(false);
+
+                        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                                statement.setFetchSize(READ_FETCH_SIZE);
+                                statement.setDouble(1, boundary.getMinCoordinates().getLongitude());
+                                statement.setDouble(2, boundary.getMinCoordinates().getLatitude());
+                                statement.setDouble(3, boundary.getMaxCoordinates().getLongitude());
+                                statement.setDouble(4, boundary.getMaxCoordinates().getLatitude());
+
+                                try (ResultSet rs = statement.executeQuery()) {
+                                        while (rs.next()) {
+                                                handler.onRow(new TessellationRow(
+                                                                rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getDouble(4),
+                                                                WkbReader.readPoint(rs.getBytes(5)),
+                                                                WkbReader.readPolygon(rs.getBytes(6))));
+                                                rows++;
+                                        }
+                                }
+                        }
+                }
+
+                return rows;
+        }
+
+        /*
+         * Mapbox Vector Tile (z/x/y) of a tessellation table, encoded by PostGIS
+         * (ST_AsMVT), with the layer "hexagons" and the CCI as attributes.
+         */
+        public final byte[] fetchTessellationTile(String tableName, int z, int x, int y) throws SQLException {
+                final String sql = String.format("""
+                                WITH bounds AS (
+                                        SELECT ST_TileEnvelope(?, ?, ?) AS geom
+                                ), tile AS (
+                                        SELECT ST_AsMVTGeom(ST_Transform(t.geometry, 3857), bounds.geom) AS geom,
+                                                t.ccid_q, t.ccid_r, t.ccid_s
+                                        FROM %s t, bounds
+                                        WHERE t.geometry && ST_Transform(bounds.geom, 4326)
+                                )
+                                SELECT ST_AsMVT(tile, 'hexagons') FROM tile
+                                """, tableName);
+
+                try (Connection connection = getConnection()) {
+                        if (isCompactTessellationTable(connection, tableName)) {
+                                return fetchCompactTessellationTile(connection, tableName, z, x, y);
+                        }
+
+                        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                                statement.setInt(1, z);
+                                statement.setInt(2, x);
+                                statement.setInt(3, y);
+
+                                try (ResultSet rs = statement.executeQuery()) {
+                                        final byte[] tile = rs.next() ? rs.getBytes(1) : null;
+                                        return tile == null ? new byte[0] : tile;
+                                }
+                        }
+                }
+        }
+
+        /*
+         * Reload the cells of a tessellation table into a CellIndex
+         *
+         * Only ccid_q, ccid_r, ccid_s & centroid are read, with a binary COPY OUT:
+         * no text to parse, and rows go straight into the index's primitive arrays.
+         * The circumradius comes from the table name ("%s_tessellation_%sm").
+         */
+        public final CellIndex loadCellIndex(String tableName) throws SQLException, IOException {
+                final double circumradius = parseCircumradius(tableName);
+
+                try (Connection connection = getConnection()) {
+                        // Compact tables only store the packed (q, r)
+                        final boolean compact = isCompactTessellationTable(connection, tableName);
+                        final String copySql = String.format(
+                                        "COPY (SELECT %s, centroid FROM %s) TO STDOUT (FORMAT binary)",
+                                        compact ? "cell_id" : "ccid_q, ccid_r, ccid_s", tableName);
+
+                        // Planner's estimate of the rows, to allocate the arrays once
+                        int expectedRows = 0;
+                        try (PreparedStatement statement = connection.prepareStatement(
+                                        "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)")) {
+                                statement.setString(1, tableName);
+                                try (ResultSet rs = statement.executeQuery()) {
+                                        if (rs.next()) {
+                                                expectedRows = (int) Math.min(Math.max(rs.getLong(1), 0), Integer.MAX_VALUE / 4);
+                                        }
+                                }
+                        }
+
+                        final CellIndex cellIndex = new CellIndex(circumradius, expectedRows);
+                        try (PGCopyInputStream copyStream = new PGCopyInputStream(
+                                        connection.unwrap(PGConnection.class), copySql)) {
+                                final PgCopyBinaryReader copyReader = new PgCopyBinaryReader(copyStream);
+                                while (copyReader.nextRow()) {
+                                        final int q, r, s;
+                                        if (compact) {
+                                                final long cellId = copyReader.readLong();
+                                                q = CubeCoordinatesIndex.cellIdToQ(cellId);
+                                                r = CubeCoordinatesIndex.cellIdToR(cellId);
+                                                s = -q - r;
+                                        } else {
+                                                q = copyReader.readInt();
+                                                r = copyReader.readInt();
+                                                s = copyReader.readInt();
+                                        }
+                                        // geometry is sent as EWKB
+                                        final Coordinates centroid = WkbReader.readPoint(copyReader.readBytes());
+
+                                        cellIndex.add(q, r, s, centroid.getLongitude(), centroid.getLatitude());
+                                }
+                        }
+
+                        return cellIndex;
+                }
+        }
+
         public final JsonObject createTessellationTable(String tableName) {
+                return createTessellationTable(tableName, "TABLE IF NOT EXISTS");
+        }
+
+        /*
+         * Compact tessellation table
+         *
+         * All hexagons of a table have the same circumradius, so the polygon of a
+         * row can be derived from its centroid (see Hexagon.generateGisVertices). A
+         * compact table only stores:
+         * 	- cell_id: the CCI packed in a bigint (see CubeCoordinatesIndex.getCellId)
+         * 	- centroid
+         *
+         * Polygons are produced on read, either by the Java read path
+         * (streamTessellationBbox, fetchTessellationTile) or in SQL by the function
+         * hexagon_polygon(centroid, circumradius), which is used by the view
+         * "<tableName>_polygons" with the same columns as a full tessellation table.
+         *
+         * The circumradius is not stored either, it is parsed from the table name.
+         */
+        public static final String compactViewName(String tableName) {
+                return tableName + "_polygons";
+        }
+
+        public final JsonObject createCompactTessellationTable(String tableName, double circumradius) {
                 final JsonObject response = new JsonObject();
 
-                final String sql = """
+                final String createTableSql = String.format("""
                                 CREATE TABLE IF NOT EXISTS %s (
-                                        ccid_q          integer                 NOT NULL,
-                                        ccid_r          integer                 NOT NULL,
-                                        ccid_s          integer                 NOT NULL,
-                                        circumradius    float8                  NOT NULL,
-                                        centroid        geometry(POINT, 4326)   NOT NULL,
-                                        geometry        geometry(POLYGON, 4326) NOT NULL
+                                        cell_id         bigint                  NOT NULL,
+                                        centroid        geometry(POINT, 4326)   NOT NULL
                                 );
-                                """;
+                                """, tableName);
+                final String createViewSql = String.format("""
+                                CREATE OR REPLACE VIEW %s AS
+                                SELECT (cell_id >> 32)::integer AS ccid_q,
+                                        ((cell_id << 32) >> 32)::integer AS ccid_r,
+                                        (-(cell_id >> 32) - ((cell_id << 32) >> 32))::integer AS ccid_s,
+                                        %s::float8 AS circumradius,
+                                        centroid,
+                                        hexagon_polygon(centroid, %s) AS geometry
+                                FROM %s
+                                """, compactViewName(tableName), circumradius, circumradius, tableName);
 
                 try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
-                        String createTableQuery = String.format(sql, tableName);
+                        statement.executeUpdate(HEXAGON_POLYGON_FUNCTION_SQL);
+                        statement.executeUpdate(createTableSql);
+                        statement.executeUpdate(createViewSql);
 
-                        int statusCode = statement.executeUpdate(createTableQuery);
-                        if (statusCode == 0) {
-                                response.addProperty("status", "SUCCESS");
-                                System.out.println("Executed createTessellationTable successfully.");
-                        } else {
-                                response.addProperty("status", "FAILED");
-                                System.out.println("Failed to execute createTessellationTable.");
+                        response.addProperty("status", "SUCCESS");
+                        response.addProperty("view", compactViewName(tableName));
+                        System.out.println("Executed createCompactTessellationTable successfully.");
+
+                } catch (SQLException e) {
+                        response.addProperty("status", "FAILED");
+                        response.addProperty("error", e.toString());
+                        printSQLException(e);
+                }
+
+                return response;
+        }
+
+        /* Primary key on cell_id and GiST index on centroid, built after loading */
+        public final JsonObject finishCompactLoad(String tableName) {
+                final JsonObject response = new JsonObject();
+
+                final long startTime = System.currentTimeMillis();
+                try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+                        statement.executeUpdate(String.format("ALTER TABLE %s ADD PRIMARY KEY (cell_id)", tableName));
+                        statement.executeUpdate(String.format(
+                                        "CREATE INDEX IF NOT EXISTS %s_centroid_idx ON %s USING GIST (centroid)", tableName, tableName));
+                        statement.executeUpdate(String.format("ANALYZE %s", tableName));
+
+                        response.addProperty("status", "SUCCESS");
+
+                } catch (SQLException e) {
+                        response.addProperty("status", "FAILED");
+                        response.addProperty("error", e.toString());
+                        printSQLException(e);
+                }
+                response.addProperty("elapsedSeconds", (System.currentTimeMillis() - startTime) / 1000.0);
+
+                return response;
+        }
+
+        /*
+         * The table is resolved like in the queries (to_regclass: search_path & case
+         * folding), on the connection of the read, then its columns are checked
+         */
+        private static final boolean isCompactTessellationTable(Connection connection, String tableName)
+                        throws SQLException {
+                try (PreparedStatement statement = connection.prepareStatement("""
+                                SELECT EXISTS (
+                                        SELECT 1 FROM pg_attribute
+                                        WHERE attrelid = to_regclass(?) AND attname = 'cell_id'
+                                                AND attnum > 0 AND NOT attisdropped
+                                )
+                                """)) {
+                        statement.setString(1, tableName);
+                        try (ResultSet rs = statement.executeQuery()) {
+                                return rs.next() && rs.getBoolean(1);
+                        }
+                }
+        }
+
+        /*
+         * Partitioned tessellation table
+         *
+         * For country-scale grids, the table is partitioned by ranges of ccid_q (see
+         * TessellationPartitioning): each partition is vacuumed, indexed and scanned
+         * on its own, and bbox queries only scan the partitions of their q range.
+         * 	1. createTessellationTable(tableName, partitioning): the partitioned table
+         * and its partitions, without indexes
+         * 	2. partitionedCopyTessellation: rows are routed to their partition by the
+         * loader, and copied directly into the partitions
+         * 	3. finishPartitionedLoad: indexes are built per partition in parallel, then
+         * attached to the indexes of the partitioned table
+         */
+        public final JsonObject createTessellationTable(String tableName, TessellationPartitioning partitioning) {
+                if (!hasRoomForDerivedNames(tableName, partitioning.getPartitions(), false)) {
+                        final JsonObject response = new JsonObject();
+                        response.addProperty("status", "FAILED");
+                        response.addProperty("error", "Table name too long for the names of its partitions: " + tableName);
+                        return response;
+                }
+
+                final JsonObject response = createTessellationTable(tableName, "TABLE IF NOT EXISTS",
+                                "PARTITION BY RANGE (ccid_q)");
+                if (!response.has("status") || !response.get("status").getAsString().equals("SUCCESS")) {
+                        return response;
+                }
+
+                try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+                        for (int partition = 0; partition < partitioning.getPartitions(); partition++) {
+                                statement.executeUpdate(String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s %s",
+                                                TessellationPartitioning.partitionName(tableName, partition), tableName,
+                                                partitioning.forValues(partition)));
                         }
+                        response.addProperty("partitions", partitioning.getPartitions());
 
                 } catch (SQLException e) {
+                        response.addProperty("status", "FAILED");
+                        response.addProperty("error", e.toString());
+                        printSQLException(e);
+                }
+
+                return response;
+        }
+
+        /*
+         * Fast load
+         *
+         * Loading into a table with indexes maintains every index for every row,
+         * and a regular table writes every row twice (WAL + table). A fast load:
+         * 	1. createStagingTable: loads into an UNLOGGED table without any index
+         * 	2. finishFastLoad: sets the staging table LOGGED, builds its indexes in
+         * parallel, then swaps it with the target table in a single transaction
+         *
+         * Readers of the target table see either the old or the new table, never a
+         * partially loaded one.
+         */
+        public static final String stagingTableName(String tableName) {
+                return tableName + "_staging";
+        }
+
+        public final JsonObject createStagingTable(String tableName) {
+                final String stagingTableName = stagingTableName(tableName);
+
+                // Leftover of a failed fast load
+                dropStagingTable(tableName);
+
+                final JsonObject response = createTessellationTable(stagingTableName, "UNLOGGED TABLE");
+                response.addProperty("tableName", stagingTableName);
+
+                return response;
+        }
+
+        /* Staging table of a failed or cancelled fast load, never swapped in */
+        public final JsonObject dropStagingTable(String tableName) {
+                final JsonObject response = new JsonObject();
+                final String stagingTableName = stagingTableName(tableName);
+
+                try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+                        statement.executeUpdate(String.format("DROP TABLE IF EXISTS %s", stagingTableName));
+                        response.addProperty("status", "SUCCESS");
+                } catch (SQLException e) {
+                        response.addProperty("status", "FAILED");
+                        response.addProperty("error", e.toString());
+                        printSQLException(e);
+                }
+                response.addProperty("tableName", stagingTableName);
+
+                return response;
+        }
+
+        public final JsonObject finishFastLoad(String tableName) {
+                final JsonObject response = new JsonObject();
+                final JsonObject message = new JsonObject();
+                final String stagingTableName = stagingTableName(tableName);
+
+                final long startTime = System.currentTimeMillis();
+                try {
+                        /*
+                         * 1. SET LOGGED rewrites the table into the WAL, do it before building
+                         * the indexes, otherwise the indexes are rebuilt by the rewrite
+                         */
+                        long stepStartTime = System.currentTimeMillis();
+                        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+                                statement.executeUpdate(String.format("ALTER TABLE %s SET LOGGED", stagingTableName));
+                        }
+                        message.addProperty("setLoggedSeconds", (System.currentTimeMillis() - stepStartTime) / 1000.0);
+
+                        /*
+                         * 2. Indexes, built in parallel on separate connections: CREATE INDEX
+                         * only takes a SHARE lock, which does not conflict with the other
+                         * CREATE INDEX. The primary key is created from its unique index.
+                         */
+                        stepStartTime = System.currentTimeMillis();
+                        final List<String> createIndexSqls = List.of(
+                                        String.format("CREATE UNIQUE INDEX %s_pkey ON %s (ccid_q, ccid_r, ccid_s)",
+                                                        stagingTableName, stagingTableName),
+                                        String.format("CREATE INDEX %s_centroid_idx ON %s USING GIST (centroid)",
+                                                        stagingTableName, stagingTableName),
+                                        String.format("CREATE INDEX %s_geometry_idx ON %s USING GIST (geometry)",
+                                                        stagingTableName, stagingTableName));
+                        executeInParallel(createIndexSqls);
+
+                        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+                                statement.executeUpdate(String.format(
+                                                "ALTER TABLE %s ADD CONSTRAINT %s_pkey PRIMARY KEY USING INDEX %s_pkey",
+                                                stagingTableName, stagingTableName, stagingTableName));
+                                statement.executeUpdate(String.format("ANALYZE %s", stagingTableName));
+                        }
+                        message.addProperty("createIndexesSeconds", (System.currentTimeMillis() - stepStartTime) / 1000.0);
+
+                        /* 3. Swap, in a single transaction */
+                        stepStartTime = System.currentTimeMillis();
+                        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+                                connection.setAutoCommit(false);
+                                try {
+                                        statement.executeUpdate(String.format("DROP TABLE IF EXISTS %s", tableName));
+                                        statement.executeUpdate(String.format("ALTER TABLE %s RENAME TO %s",
+                                                        stagingTableName, tableName));
+                                        for (String index : List.of("pkey", "centroid_idx", "geometry_idx")) {
+                                                statement.executeUpdate(String.format("ALTER INDEX %s_%s RENAME TO %s_%s",
+                                                                stagingTableName, index, tableName, index));
+                                        }
+                                        connection.commit();
+                                } catch (SQLException e) {
+                                        connection.rollback();
+                                        throw e;
+                                }
+                        }
+                        message.addProperty("swapSeconds", (System.currentTimeMillis() - stepStartTime) / 1000.0);
+
+                        response.addProperty("status", "SUCCESS");
+
+                } catch (SQLException e) {
+                        response.addProperty("status", "FAILED");
+                        response.addProperty("error", e.toString());
+                        printSQLException(e);
+                }
+
+                message.addProperty("tableName", tableName);
+                message.addProperty("elapsedSeconds", (System.currentTimeMillis() - startTime) / 1000.0);
+                response.add("message", message);
+
+                return response;
+        }
+
+        /*
+         * Indexes of a partitioned table, see createTessellationTable(tableName, partitioning)
+         *
+         * The indexes of all partitions are built in parallel (on separate
+         * connections). Creating the same index on the partitioned table then only
+         * attaches the existing indexes of the partitions instead of building them.
+         */
+        public final JsonObject finishPartitionedLoad(String tableName, TessellationPartitioning partitioning) {
+                final JsonObject response = new JsonObject();
+                final JsonObject message = new JsonObject();
+
+                final long startTime = System.currentTimeMillis();
+                try {
+                        /* 1. Indexes of each partition, in parallel */
+                        long stepStartTime = System.currentTimeMillis();
+                        final List<String> createIndexSqls = new ArrayList<String>();
+                        for (int partition = 0; partition < partitioning.getPartitions(); partition++) {
+                                final String partitionName = TessellationPartitioning.partitionName(tableName, partition);
+                                createIndexSqls.add(String.format("CREATE UNIQUE INDEX %s_pkey ON %s (ccid_q, ccid_r, ccid_s)",
+                                                partitionName, partitionName));
+                                createIndexSqls.add(String.format("CREATE INDEX %s_centroid_idx ON %s USING GIST (centroid)",
+                                                partitionName, partitionName));
+                                createIndexSqls.add(String.format("CREATE INDEX %s_geometry_idx ON %s USING GIST (geometry)",
+                                                partitionName, partitionName));
+                        }
+                        executeInParallel(createIndexSqls);
+                        message.addProperty("createIndexesSeconds", (System.currentTimeMillis() - stepStartTime) / 1000.0);
+
+                        /* 2. Attach them to the indexes of the partitioned table */
+                        stepStartTime = System.currentTimeMillis();
+                        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+                                // A primary key is only attached to primary keys of the partitions
+                                for (int partition = 0; partition < partitioning.getPartitions(); partition++) {
+                                        final String partitionName = TessellationPartitioning.partitionName(tableName, partition);
+                                        statement.executeUpdate(String.format(
+                                                        "ALTER TABLE %s ADD CONSTRAINT %s_pkey PRIMARY KEY USING INDEX %s_pkey",
+                                                        partitionName, partitionName, partitionName));
+                                }
+                                statement.executeUpdate(String.format(
+                                                "ALTER TABLE %s ADD PRIMARY KEY (ccid_q, ccid_r, ccid_s)", tableName));
+                                statement.executeUpdate(String.format(
+                                                "CREATE INDEX %s_centroid_idx ON %s USING GIST (centroid)", tableName, tableName));
+                                statement.executeUpdate(String.format(
+                                                "CREATE INDEX %s_geometry_idx ON %s USING GIST (geometry)", tableName, tableName));
+                                statement.executeUpdate(String.format("ANALYZE %s", tableName));
+                        }
+                        message.addProperty("attachIndexesSeconds", (System.currentTimeMillis() - stepStartTime) / 1000.0);
+
+                        response.addProperty("status", "SUCCESS");
+
+                } catch (SQLException e) {
+                        response.addProperty("status", "FAILED");
                         response.addProperty("error", e.toString());
                         printSQLException(e);
                 }
 
+                message.addProperty("tableName", tableName);
+                message.addProperty("partitions", partitioning.getPartitions());
+                message.addProperty("elapsedSeconds", (System.currentTimeMillis() - startTime) / 1000.0);
+                response.add("message", message);
+
                 return response;
         }
 
@@ -152,23 +732,13 @@ public class PostgresJDBC {
                 // Get hexagons
                 final List<Hexagon> hexagons = tessellation.getGisHexagons();
 
+                // Geometries are bound as EWKB (binary), PostGIS ingests them without parsing text
+                final WkbWriter wkbWriter = new WkbWriter();
+
                 // Prepare SQL
                 final String insertTessellationSql = String.format("""
                                 INSERT INTO %s (ccid_q, ccid_r, ccid_s, circumradius, centroid, geometry)
-                                VALUES (?,
-                                        ?,
-                                        ?,
-                                        ?,
-                                        ST_SetSRID(ST_MakePoint(?, ?), 4326),
-                                        ST_SetSRID(ST_MakePolygon(ST_MakeLine(ARRAY[
-                                                        ST_MakePoint(?, ?),
-                                                        ST_MakePoint(?, ?),
-                                                        ST_MakePoint(?, ?),
-                                                        ST_MakePoint(?, ?),
-                                                        ST_MakePoint(?, ?),
-                                                        ST_MakePoint(?, ?),
-                                                        ST_MakePoint(?, ?)
-                                                ])), 4326));
+                                VALUES (?, ?, ?, ?, ST_GeomFromEWKB(?), ST_GeomFromEWKB(?));
                                 """, tableName);
 
                 // Prepare dynamic queries to batch insert Hexagons into PostGIS
@@ -195,31 +765,8 @@ public class PostgresJDBC {
                                 double circumradius = hexagon.getCircumradius();
                                 preparedStatement.setDouble(4, circumradius);
 
-                                Coordinates centroid = hexagon.getCentroid();
-                                preparedStatement.setDouble(5, centroid.getLongitude());
-                                preparedStatement.setDouble(6, centroid.getLatitude());
-
-                                List<Coordinates> gisVertices = hexagon.getGisVertices();
-                                preparedStatement.setDouble(7, gisVertices.get(0).getLongitude());
-                                preparedStatement.setDouble(8, gisVertices.get(0).getLatitude());
-
-                                preparedStatement.setDouble(9, gisVertices.get(1).getLongitude());
-                                preparedStatement.setDouble(10, gisVertices.get(1).getLatitude());
-
-                                preparedStatement.setDouble(11, gisVertices.get(2).getLongitude());
-                                preparedStatement.setDouble(12, gisVertices.get(2).getLatitude());
-
-                                preparedStatement.setDouble(13, gisVertices.get(3).getLongitude());
-                                preparedStatement.setDouble(14, gisVertices.get(3).getLatitude());
-
-                                preparedStatement.setDouble(15, gisVertices.get(4).getLongitude());
-                                preparedStatement.setDouble(16, gisVertices.get(4).getLatitude());
-
-                                preparedStatement.setDouble(17, gisVertices.get(5).getLongitude());
-                                preparedStatement.setDouble(18, gisVertices.get(5).getLatitude());
-
-                                preparedStatement.setDouble(19, gisVertices.get(6).getLongitude());
-                                preparedStatement.setDouble(20, gisVertices.get(6).getLatitude());
+                                preparedStatement.setBytes(5, wkbWriter.centroidBytes(hexagon));
+                                preparedStatement.setBytes(6, wkbWriter.polygonBytes(hexagon));
 
                                 // Add statement into batch
                                 preparedStatement.addBatch();
@@ -267,6 +814,7 @@ public class PostgresJDBC {
                         message.addProperty("elapsedSeconds", elapsedSeconds);
                         message.addProperty("rowsPerBatch", BATCH_SIZE_LIMIT);
                         message.addProperty("rowsInserted", batchCount);
+                        message.addProperty("rowsPerSecond", rowsPerSecond(batchCount, elapsedMillisecs));
 
                 } catch (BatchUpdateException batchUpdateException) {
                         response.addProperty("status", "FAILED");
@@ -281,58 +829,814 @@ public class PostgresJDBC {
                 return response;
         }
 
-        public final JsonObject addPrimaryKeyIfNotExists(String tableName) {
+        /*
+         * Bulk load with COPY ... FROM STDIN (FORMAT binary)
+         *
+         * Rows are streamed to the server in PostgreSQL's binary COPY format, with
+         * geometries pre-encoded as EWKB. There are no statements to parse/plan per
+         * row and no text to convert, so this is much faster than batchInsertTessellation.
+         */
+        public final JsonObject copyInsertTessellation(String tableName, CornerEdgeTessellation tessellation) {
+                return copyInsertTessellation(tableName, tessellation, 1);
+        }
+
+        /*
+         * Parallel COPY over `connections` connections
+         *
+         * The hexagons are split into disjoint, contiguous ranges, and each range is
+         * copied by a worker on its own connection/transaction. A single COPY is
+         * bound by one server backend (and one client thread), so N connections keep
+         * N backends busy.
+         *
+         * All-or-nothing: workers wait for each other before committing, then all
+         * workers commit if every COPY succeeded, otherwise all roll back. (This is
+         * not a two-phase commit, a failure during the commits themselves is reported
+         * but cannot be undone.)
+         */
+        public final JsonObject copyInsertTessellation(String tableName, CornerEdgeTessellation tessellation,
+                        int connections) {
+                return copyInsertTessellation(tableName, tessellation, connections, false);
+        }
+
+        /* compact: rows of a compact tessellation table, see createCompactTessellationTable */
+        public final JsonObject copyInsertTessellation(String tableName, CornerEdgeTessellation tessellation,
+                        int connections, boolean compact) {
+                // Prepare response
                 JsonObject response = new JsonObject();
+                JsonObject message = new JsonObject();
 
-                final String checkPrimaryKeySql = String.format("""
-                                SELECT constraint_name from information_schema.table_constraints
-                                WHERE table_name = '%s'
-                                AND constraint_type = 'PRIMARY KEY'
-                                """, tableName);
-                final String addPrimaryKeySql = String.format("""
-                                ALTER TABLE %s
-                                ADD PRIMARY KEY (ccid_q, ccid_r, ccid_s)
-                                """, tableName);
+                // Get hexagons
+                final List<Hexagon> hexagons = tessellation.getGisHexagons();
 
-                try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
-                        ResultSet rs = statement.executeQuery(checkPrimaryKeySql);
+                // No more workers than hexagons or pooled connections, at least 1
+                final int workersCount = Math.max(1,
+                                Math.min(Math.min(connections, hexagons.size()), getMaxPoolSize()));
 
-                        boolean hasPrimaryKey = rs.next(); // Return `false` if there is no more row (means no PK)
-                        if (hasPrimaryKey) {
-                                // Query PRIMARY KEY name
-                                String constraintName = rs.getString("constraint_name");
-                                System.out.println(String.format(
-                                                "PRIMARY KEY '%s' already exists for table '%s'.",
-                                                constraintName,
-                                                tableName));
-                        } else {
-                                statement.executeUpdate(addPrimaryKeySql);
-                                rs = statement.executeQuery(checkPrimaryKeySql);
+                final String copySql = String.format("COPY %s (%s) FROM STDIN (FORMAT binary)", tableName,
+                                compact ? PgCopyBinaryWriter.COMPACT_TESSELLATION_COLUMNS : PgCopyBinaryWriter.TESSELLATION_COLUMNS);
 
-                                boolean hasNextRow = rs.next();
-                                if (hasNextRow) {
-                                        response.addProperty("status", "SUCCESS");
-                                        response.addProperty("message", String.format(
-                                                        "PRIMARY KEY '%s' added to table '%s'.",
-                                                        rs.getString("constraint_name"),
-                                                        tableName));
-                                } else {
-                                        response.addProperty("status", "FAILED");
-                                        response.addProperty("message", String.format(
-                                                        "Failed to add PRIMARY KEY to table '%s'.",
-                                                        tableName));
-                                }
-                        }
+                // Commit barrier: the last worker to arrive decides for all of them
+                final AtomicBoolean copyFailed = new AtomicBoolean(false);
+                final AtomicBoolean commit = new AtomicBoolean(false);
+                final CyclicBarrier commitBarrier = new CyclicBarrier(workersCount,
+                                () -> commit.set(!copyFailed.get()));
 
-                } catch (SQLException e) {
-                        printSQLException(e);
+                // All the connections of the load, borrowed together
+                final List<Connection> workerConnections = getConnections(workersCount);
+                if (workerConnections == null) {
+                        response.addProperty("status", "FAILED");
+                        response.addProperty("error", "Failed to borrow " + workersCount + " connection(s), see connectionPool.");
+                        return response;
                 }
 
-                return response;
-        }
+                final ExecutorService executor = Executors.newFixedThreadPool(workersCount);
+                final List<Future<JsonObject>> workers = new ArrayList<Future<JsonObject>>(workersCount);
+
+                // Start time
+                final long startTime = System.currentTimeMillis();
+
+                System.out.println("--- COPY begin with " + workersCount + " connection(s)..");
+                for (int i = 0; i < workersCount; i++) {
+                        // Range [fromIndex, toIndex) of this worker
+                        final int worker = i;
+                        final int fromIndex = (int) ((long) hexagons.size() * i / workersCount);
+                        final int toIndex = (int) ((long) hexagons.size() * (i + 1) / workersCount);
+                        final List<Hexagon> range = hexagons.subList(fromIndex, toIndex);
+
+                        workers.add(executor.submit(() -> copyWorker(worker, workerConnections.get(worker), copySql,
+                                        copyWriter -> {
+                                                for (Hexagon hexagon : range) {
+                                                        if (compact) {
+                                                                copyWriter.compactTessellationRow(hexagon);
+                                                        } else {
+                                                                copyWriter.tessellationRow(hexagon);
+                                                        }
+                                                }
+                                        },
+                                        copyFailed, commitBarrier, commit)));
+                }
+                executor.shutdown();
 
-        public static void printBatchUpdateException(BatchUpdateException b) {
-                System.err.println("--- BatchUpdateException");
+                // Collect workers' results
+                final JsonArray workersStatus = new JsonArray();
+                long rowsCopied = 0;
+                boolean failed = false;
+                for (Future<JsonObject> future : workers) {
+                        try {
+                                final JsonObject workerStatus = awaitCopyWorker(future, copyFailed);
+                                workersStatus.add(workerStatus);
+
+                                if (workerStatus.has("error")) {
+                                        failed = true;
+                                } else {
+                                        rowsCopied += workerStatus.get("rowsInserted").getAsLong();
+                                }
+                        } catch (ExecutionException e) {
+                                failed = true;
+                                response.addProperty("error", e.toString());
+                        }
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                        failed = true;
+                        response.addProperty("error", "Cancelled while loading, the workers rolled back.");
+                }
+
+                // Calculate elapsed time of all COPY
+                final double elapsedMillisecs = System.currentTimeMillis() - startTime;
+                final double elapsedSeconds = elapsedMillisecs / 1000;
+
+                /*
+                 * Prepare copyInsertTessellation response
+                 */
+                response.addProperty("status", failed ? "FAILED" : "SUCCESS");
+                response.add("message", message);
+
+                message.addProperty("tableName", tableName);
+                message.addProperty("totalHexagons", hexagons.size());
+                message.addProperty("connections", workersCount);
+                message.addProperty("elapsedSeconds", elapsedSeconds);
+                message.addProperty("rowsInserted", failed ? 0 : rowsCopied);
+                message.addProperty("rowsPerSecond", failed ? 0 : rowsPerSecond(rowsCopied, elapsedMillisecs));
+                message.add("workers", workersStatus);
+
+                System.out.println("- COPY " + (failed ? "failed, rolled back." : "completed: " + rowsCopied + " rows."));
+                return response;
+        }
+
+        /*
+         * Parallel COPY into a partitioned table
+         *
+         * Rows are routed to their partition here rather than by the server, and
+         * each partition is copied directly by a single worker: workers never write
+         * into the same partition. Worker i copies partitions i, i + workers, ..
+         * on its own connection, all-or-nothing as copyInsertTessellation.
+         */
+        public final JsonObject partitionedCopyTessellation(String tableName, CornerEdgeTessellation tessellation,
+                        TessellationPartitioning partitioning, int connections) {
+                // Prepare response
+                JsonObject response = new JsonObject();
+                JsonObject message = new JsonObject();
+
+                // Route hexagons to their partition
+                final List<Hexagon> hexagons = tessellation.getGisHexagons();
+                final List<List<Hexagon>> partitions = new ArrayList<List<Hexagon>>(partitioning.getPartitions());
+                for (int partition = 0; partition < partitioning.getPartitions(); partition++) {
+                        partitions.add(new ArrayList<Hexagon>());
+                }
+                for (Hexagon hexagon : hexagons) {
+                        partitions.get(partitioning.partitionOf(hexagon.getCCI().getQ())).add(hexagon);
+                }
+
+                // No more workers than partitions or pooled connections, at least 1
+                final int workersCount = Math.max(1,
+                                Math.min(Math.min(connections, partitioning.getPartitions()), getMaxPoolSize()));
+
+                // Commit barrier: the last worker to arrive decides for all of them
+                final AtomicBoolean copyFailed = new AtomicBoolean(false);
+                final AtomicBoolean commit = new AtomicBoolean(false);
+                final CyclicBarrier commitBarrier = new CyclicBarrier(workersCount,
+                                () -> commit.set(!copyFailed.get()));
+
+                // All the connections of the load, borrowed together
+                final List<Connection> workerConnections = getConnections(workersCount);
+                if (workerConnections == null) {
+                        response.addProperty("status", "FAILED");
+                        response.addProperty("error", "Failed to borrow " + workersCount + " connection(s), see connectionPool.");
+                        return response;
+                }
+
+                final ExecutorService executor = Executors.newFixedThreadPool(workersCount);
+                final List<Future<JsonObject>> workers = new ArrayList<Future<JsonObject>>(workersCount);
+
+                // Start time
+                final long startTime = System.currentTimeMillis();
+
+                System.out.println("--- Partitioned COPY begin with " + workersCount + " connection(s)..");
+                for (int i = 0; i < workersCount; i++) {
+                        final int worker = i;
+                        workers.add(executor.submit(() -> copyWorker(worker, workerConnections.get(worker),
+                                        connection -> {
+                                                long rowsCopied = 0;
+                                                for (int partition = worker; partition < partitions.size(); partition += workersCount) {
+                                                        final List<Hexagon> partitionHexagons = partitions.get(partition);
+                                                        final String copySql = String.format("COPY %s (%s) FROM STDIN (FORMAT binary)",
+                                                                        TessellationPartitioning.partitionName(tableName, partition),
+                                                                        PgCopyBinaryWriter.TESSELLATION_COLUMNS);
+
+                                                        rowsCopied += copy(connection, copySql, copyWriter -> {
+                                                                for (Hexagon hexagon : partitionHexagons) {
+                                                                        copyWriter.tessellationRow(hexagon);
+                                                                }
+                                                        });
+                                                }
+                                                return rowsCopied;
+                                        },
+                                        copyFailed, commitBarrier, commit)));
+                }
+                executor.shutdown();
+
+                // Collect workers' results
+                final JsonArray workersStatus = new JsonArray();
+                long rowsCopied = 0;
+                boolean failed = false;
+                for (Future<JsonObject> future : workers) {
+                        try {
+                                final JsonObject workerStatus = awaitCopyWorker(future, copyFailed);
+                                workersStatus.add(workerStatus);
+
+                                if (workerStatus.has("error")) {
+                                        failed = true;
+                                } else {
+                                        rowsCopied += workerStatus.get("rowsInserted").getAsLong();
+                                }
+                        } catch (ExecutionException e) {
+                                failed = true;
+                                response.addProperty("error", e.toString());
+                        }
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                        failed = true;
+                        response.addProperty("error", "Cancelled while loading, the workers rolled back.");
+                }
+
+                final double elapsedMillisecs = System.currentTimeMillis() - startTime;
+
+                /*
+                 * Prepare partitionedCopyTessellation response
+                 */
+                response.addProperty("status", failed ? "FAILED" : "SUCCESS");
+                response.add("message", message);
+
+                final JsonArray partitionRows = new JsonArray();
+                for (List<Hexagon> partitionHexagons : partitions) {
+                        partitionRows.add(partitionHexagons.size());
+                }
+
+                message.addProperty("tableName", tableName);
+                message.addProperty("totalHexagons", hexagons.size());
+                message.addProperty("partitions", partitioning.getPartitions());
+                message.addProperty("partitionWidth", partitioning.getWidth());
+                message.add("partitionRows", partitionRows);
+                message.addProperty("connections", workersCount);
+                message.addProperty("elapsedSeconds", elapsedMillisecs / 1000);
+                message.addProperty("rowsInserted", failed ? 0 : rowsCopied);
+                message.addProperty("rowsPerSecond", failed ? 0 : rowsPerSecond(rowsCopied, elapsedMillisecs));
+                message.add("workers", workersStatus);
+
+                System.out.println("- Partitioned COPY " + (failed ? "failed, rolled back." : "completed: " + rowsCopied + " rows."));
+                return response;
+        }
+
+        /*
+         * Pipelined generate-and-load
+         *
+         * The tessellation (producer, on the calling thread) pushes batches of hexagons
+         * into a bounded queue while `connections` loader threads (consumers) drain it,
+         * each into its own COPY. Generation and loading overlap, so the total time
+         * approaches max(generate, load) instead of their sum, and at most
+         * queueCapacity batches are held in memory.
+         *
+         * The tessellation must not be tessellated yet, its gisHexagons stay empty.
+         * Commit/rollback is all-or-nothing as copyInsertTessellation. If the
+         * producer or any loader fails, all the others stop and roll back.
+         */
+        public final JsonObject pipelineCopyTessellation(String tableName, CornerEdgeTessellation tessellation,
+                        Boundary boundary, int connections) {
+                return pipelineCopyTessellation(tableName, tessellation, boundary, connections,
+                                PIPELINE_BATCH_SIZE, PIPELINE_QUEUE_CAPACITY);
+        }
+
+        public final JsonObject pipelineCopyTessellation(String tableName, CornerEdgeTessellation tessellation,
+                        Boundary boundary, int connections, int batchSize, int queueCapacity) {
+                // Prepare response
+                JsonObject response = new JsonObject();
+                JsonObject message = new JsonObject();
+
+                final int workersCount = Math.max(1, Math.min(connections, getMaxPoolSize()));
+
+                final String copySql = String.format("COPY %s (%s) FROM STDIN (FORMAT binary)",
+                                tableName, PgCopyBinaryWriter.TESSELLATION_COLUMNS);
+
+                // Batches of hexagons, an empty batch tells a loader that there are no more batches
+                final BlockingQueue<List<Hexagon>> queue = new ArrayBlockingQueue<List<Hexagon>>(queueCapacity);
+                final List<Hexagon> END_OF_BATCHES = List.of();
+
+                // Commit barrier: the last worker to arrive decides for all of them
+                final AtomicBoolean copyFailed = new AtomicBoolean(false);
+                final AtomicBoolean commit = new AtomicBoolean(false);
+                final CyclicBarrier commitBarrier = new CyclicBarrier(workersCount,
+                                () -> commit.set(!copyFailed.get()));
+
+                // All the connections of the load, borrowed together
+                final List<Connection> workerConnections = getConnections(workersCount);
+                if (workerConnections == null) {
+                        response.addProperty("status", "FAILED");
+                        response.addProperty("error", "Failed to borrow " + workersCount + " connection(s), see connectionPool.");
+                        return response;
+                }
+
+                final ExecutorService executor = Executors.newFixedThreadPool(workersCount);
+                final List<Future<JsonObject>> workers = new ArrayList<Future<JsonObject>>(workersCount);
+
+                // Start time
+                final long startTime = System.currentTimeMillis();
+
+                /* Consumers */
+                System.out.println("--- Pipeline begin with " + workersCount + " connection(s)..");
+                for (int i = 0; i < workersCount; i++) {
+                        final int worker = i;
+                        workers.add(executor.submit(() -> copyWorker(worker, workerConnections.get(worker), copySql,
+                                        copyWriter -> {
+                                                while (true) {
+                                                        final List<Hexagon> batch = queue.poll(
+                                                                        PIPELINE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                                                        if (batch == null) {
+                                                                // Stop if the producer or another loader failed
+                                                                if (copyFailed.get()) {
+                                                                        throw new IOException("Pipeline aborted.");
+                                                                }
+                                                                continue;
+                                                        }
+                                                        if (batch.isEmpty()) {
+                                                                break;
+                                                        }
+
+                                                        for (Hexagon hexagon : batch) {
+                                                                copyWriter.tessellationRow(hexagon);
+                                                        }
+                                                }
+                                        },
+                                        copyFailed, commitBarrier, commit)));
+                }
+                executor.shutdown();
+
+                /* Producer */
+                final long[] blockedNanos = { 0 };
+                final Consumer<List<Hexagon>> enqueue = batch -> {
+                        final long blockedStart = System.nanoTime();
+                        try {
+                                // Wait while the queue is full, unless a loader failed
+                                while (!queue.offer(batch, PIPELINE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                                        if (copyFailed.get()) {
+                                                throw new IllegalStateException("Pipeline aborted: a loader failed.");
+                                        }
+                                }
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new IllegalStateException("Pipeline interrupted.", e);
+                        }
+                        blockedNanos[0] += System.nanoTime() - blockedStart;
+                };
+
+                final List<List<Hexagon>> pendingBatch = new ArrayList<List<Hexagon>>(1);
+                pendingBatch.add(new ArrayList<Hexagon>(batchSize));
+                try {
+                        tessellation.tessellate(boundary, hexagon -> {
+                                final List<Hexagon> batch = pendingBatch.get(0);
+                                batch.add(hexagon);
+
+                                if (batch.size() == batchSize) {
+                                        enqueue.accept(batch);
+                                        pendingBatch.set(0, new ArrayList<Hexagon>(batchSize));
+                                }
+                        });
+
+                        if (!pendingBatch.get(0).isEmpty()) {
+                                enqueue.accept(pendingBatch.get(0));
+                        }
+                        for (int i = 0; i < workersCount; i++) {
+                                enqueue.accept(END_OF_BATCHES);
+                        }
+
+                } catch (RuntimeException e) {
+                        // Loaders stop polling and roll back
+                        copyFailed.set(true);
+                        response.addProperty("error", e.toString());
+                }
+                final double generateMillisecs = System.currentTimeMillis() - startTime;
+
+                // Collect workers' results
+                final JsonArray workersStatus = new JsonArray();
+                long rowsCopied = 0;
+                boolean failed = copyFailed.get();
+                for (Future<JsonObject> future : workers) {
+                        try {
+                                final JsonObject workerStatus = awaitCopyWorker(future, copyFailed);
+                                workersStatus.add(workerStatus);
+
+                                if (workerStatus.has("error")) {
+                                        failed = true;
+                                } else {
+                                        rowsCopied += workerStatus.get("rowsInserted").getAsLong();
+                                }
+                        } catch (ExecutionException e) {
+                                failed = true;
+                                response.addProperty("error", e.toString());
+                        }
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                        failed = true;
+                        response.addProperty("error", "Cancelled while loading, the workers rolled back.");
+                }
+
+                // Calculate elapsed time of the whole pipeline
+                final double elapsedMillisecs = System.currentTimeMillis() - startTime;
+
+                /*
+                 * Prepare pipelineCopyTessellation response
+                 */
+                response.addProperty("status", failed ? "FAILED" : "SUCCESS");
+                response.add("message", message);
+
+                message.addProperty("tableName", tableName);
+                message.addProperty("totalHexagons", tessellation.getTotalHexagons());
+                message.addProperty("connections", workersCount);
+                message.addProperty("batchSize", batchSize);
+                message.addProperty("queueCapacity", queueCapacity);
+                message.addProperty("generateSeconds", generateMillisecs / 1000);
+                // Time the producer waited for a free slot in the queue, high when loading is the bottleneck
+                message.addProperty("producerBlockedSeconds", blockedNanos[0] / 1e9);
+                message.addProperty("elapsedSeconds", elapsedMillisecs / 1000);
+                message.addProperty("rowsInserted", failed ? 0 : rowsCopied);
+                message.addProperty("rowsPerSecond", failed ? 0 : rowsPerSecond(rowsCopied, elapsedMillisecs));
+                message.add("workers", workersStatus);
+
+                System.out.println("- Pipeline " + (failed ? "failed, rolled back." : "completed: " + rowsCopied + " rows."));
+                return response;
+        }
+
+        /*
+         * Resumable load
+         *
+         * The hexagons are loaded in chunks (ranges of the tessellation order, which
+         * is deterministic for the same request), each chunk in its own transaction:
+         * 	1. COPY the chunk into a temporary table
+         * 	2. INSERT into the target table ON CONFLICT (CCI primary key) DO NOTHING
+         * 	3. record the chunk in the checkpoints table
+         *
+         * If a load fails, re-issuing the same request skips the recorded chunks, so
+         * only the missing part is loaded again. The upsert makes a chunk idempotent.
+         * The checkpoints of a table are deleted once all its chunks are loaded.
+         *
+         * Checkpoints store the fingerprint of the load (see loadFingerprint): a
+         * different request on the same table (other centroid, boundary, order or
+         * chunk size) has other cells in the same ranges, so it fails instead of
+         * skipping them.
+         *
+         * The target table must have its primary key (see addPrimaryKeyIfNotExists).
+         */
+        public final JsonObject resumableCopyTessellation(String tableName, CornerEdgeTessellation tessellation) {
+                return resumableCopyTessellation(tableName, tessellation, RESUMABLE_CHUNK_SIZE);
+        }
+
+        public final JsonObject resumableCopyTessellation(String tableName, CornerEdgeTessellation tessellation,
+                        int chunkSize) {
+                // Prepare response
+                JsonObject response = new JsonObject();
+                JsonObject message = new JsonObject();
+
+                // Get hexagons
+                final List<Hexagon> hexagons = tessellation.getGisHexagons();
+                final int chunksCount = (hexagons.size() + chunkSize - 1) / chunkSize;
+
+                final String createCheckpointsSql = String.format("""
+                                CREATE TABLE IF NOT EXISTS %1$s (
+                                        table_name      text            NOT NULL,
+                                        range_start     integer         NOT NULL,
+                                        range_end       integer         NOT NULL,
+                                        rows_inserted   integer         NOT NULL,
+                                        completed_at    timestamptz     NOT NULL DEFAULT now(),
+                                        PRIMARY KEY (table_name, range_start, range_end)
+                                );
+                                ALTER TABLE %1$s ADD COLUMN IF NOT EXISTS fingerprint text;
+                                """, CHECKPOINTS_TABLE_NAME);
+                final String selectCheckpointsSql = String.format(
+                                "SELECT range_start, range_end, fingerprint FROM %s WHERE table_name = ?",
+                                CHECKPOINTS_TABLE_NAME);
+                final String insertCheckpointSql = String.format(
+                                "INSERT INTO %s (table_name, range_start, range_end, rows_inserted, fingerprint) VALUES (?, ?, ?, ?, ?)",
+                                CHECKPOINTS_TABLE_NAME);
+                final String deleteCheckpointsSql = String.format(
+                                "DELETE FROM %s WHERE table_name = ?", CHECKPOINTS_TABLE_NAME);
+
+                // Temporary table of a chunk, dropped at the end of the chunk's transaction
+                final String createChunkTableSql = String.format("""
+                                CREATE TEMPORARY TABLE tessellation_chunk
+                                (LIKE %s INCLUDING DEFAULTS) ON COMMIT DROP
+                                """, tableName);
+                final String copySql = String.format("COPY tessellation_chunk (%s) FROM STDIN (FORMAT binary)",
+                                PgCopyBinaryWriter.TESSELLATION_COLUMNS);
+                final String upsertSql = String.format("""
+                                INSERT INTO %s (%s)
+                                SELECT %s FROM tessellation_chunk
+                                ON CONFLICT (ccid_q, ccid_r, ccid_s) DO NOTHING
+                                """, tableName, PgCopyBinaryWriter.TESSELLATION_COLUMNS,
+                                PgCopyBinaryWriter.TESSELLATION_COLUMNS);
+
+                final String fingerprint = loadFingerprint(tessellation, chunkSize);
+
+                // Start time
+                final long startTime = System.currentTimeMillis();
+
+                int chunksSkipped = 0;
+                int chunksLoaded = 0;
+                long rowsCopied = 0;
+                long rowsInserted = 0;
+                try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+                        statement.executeUpdate(createCheckpointsSql);
+
+                        // Completed chunks of a previous attempt
+                        final Set<Long> completedChunks = new HashSet<Long>();
+                        try (PreparedStatement selectCheckpoints = connection.prepareStatement(selectCheckpointsSql)) {
+                                selectCheckpoints.setString(1, tableName);
+                                try (ResultSet rs = selectCheckpoints.executeQuery()) {
+                                        while (rs.next()) {
+                                                if (!fingerprint.equals(rs.getString(3))) {
+                                                        throw new SQLException(String.format(
+                                                                        "Checkpoints of %s belong to a different load (centroid, radius, boundary, order or chunk size), "
+                                                                                        + "re-issue the original request, or drop the table and delete its checkpoints.",
+                                                                        tableName));
+                                                }
+                                                completedChunks.add(packRange(rs.getInt(1), rs.getInt(2)));
+                                        }
+                                }
+                        }
+
+                        System.out.println("--- Resumable COPY begin, " + completedChunks.size() + " chunk(s) already loaded..");
+                        connection.setAutoCommit(false);
+                        try (PreparedStatement insertCheckpoint = connection.prepareStatement(insertCheckpointSql)) {
+                                for (int chunk = 0; chunk < chunksCount; chunk++) {
+                                        final int rangeStart = chunk * chunkSize;
+                                        final int rangeEnd = Math.min(rangeStart + chunkSize, hexagons.size());
+                                        if (completedChunks.contains(packRange(rangeStart, rangeEnd))) {
+                                                chunksSkipped++;
+                                                continue;
+                                        }
+
+                                        try {
+                                                statement.executeUpdate(createChunkTableSql);
+
+                                                final List<Hexagon> range = hexagons.subList(rangeStart, rangeEnd);
+                                                rowsCopied += copy(connection, copySql, copyWriter -> {
+                                                        for (Hexagon hexagon : range) {
+                                                                copyWriter.tessellationRow(hexagon);
+                                                        }
+                                                });
+                                                final int chunkRowsInserted = statement.executeUpdate(upsertSql);
+
+                                                insertCheckpoint.setString(1, tableName);
+                                                insertCheckpoint.setInt(2, rangeStart);
+                                                insertCheckpoint.setInt(3, rangeEnd);
+                                                insertCheckpoint.setInt(4, chunkRowsInserted);
+                                                insertCheckpoint.setString(5, fingerprint);
+                                                insertCheckpoint.executeUpdate();
+
+                                                connection.commit();
+                                                rowsInserted += chunkRowsInserted;
+                                                chunksLoaded++;
+                                        } catch (SQLException e) {
+                                                connection.rollback();
+                                                throw e;
+                                        }
+                                }
+                        }
+
+                        // All chunks loaded, the checkpoints are no longer needed
+                        try (PreparedStatement deleteCheckpoints = connection.prepareStatement(deleteCheckpointsSql)) {
+                                deleteCheckpoints.setString(1, tableName);
+                                deleteCheckpoints.executeUpdate();
+                        }
+                        connection.commit();
+
+                        response.addProperty("status", "SUCCESS");
+                        System.out.println("- Resumable COPY completed: " + rowsInserted + " rows inserted.");
+
+                } catch (SQLException e) {
+                        // Completed chunks are committed, re-issue the request to resume
+                        response.addProperty("status", "FAILED");
+                        response.addProperty("error", e.toString());
+                        printSQLException(e);
+                }
+
+                final double elapsedMillisecs = System.currentTimeMillis() - startTime;
+
+                /*
+                 * Prepare resumableCopyTessellation response
+                 */
+                response.add("message", message);
+
+                message.addProperty("tableName", tableName);
+                message.addProperty("totalHexagons", hexagons.size());
+                message.addProperty("chunkSize", chunkSize);
+                message.addProperty("totalChunks", chunksCount);
+                message.addProperty("chunksSkipped", chunksSkipped);
+                message.addProperty("chunksLoaded", chunksLoaded);
+                message.addProperty("elapsedSeconds", elapsedMillisecs / 1000);
+                message.addProperty("rowsCopied", rowsCopied);
+                // Rows of the chunks that were not already in the table
+                message.addProperty("rowsInserted", rowsInserted);
+                message.addProperty("rowsPerSecond", rowsPerSecond(rowsCopied, elapsedMillisecs));
+
+                return response;
+        }
+
+        /*
+         * Fingerprint of a resumable load: SHA-256 of the root centroid, circumradius,
+         * boundary, chunk size, hexagon count and the cell ids in load order (so that
+         * ring & hilbert orders differ)
+         */
+        private static final String loadFingerprint(CornerEdgeTessellation tessellation, int chunkSize) {
+                final MessageDigest digest;
+                try {
+                        digest = MessageDigest.getInstance("SHA-256");
+                } catch (NoSuchAlgorithmException e) {
+                        throw new IllegalStateException(e);
+                }
+
+                final Coordinates centroid = tessellation.getRootHexagon().getCentroid();
+                final Boundary boundary = tessellation.getBoundary();
+                final List<Hexagon> hexagons = tessellation.getGisHexagons();
+                final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+                buffer.putDouble(centroid.getLongitude()).putDouble(centroid.getLatitude())
+                                .putDouble(tessellation.getCircumradius())
+                                .putDouble(boundary.getMinLongitude()).putDouble(boundary.getMinLatitude())
+                                .putDouble(boundary.getMaxLongitude()).putDouble(boundary.getMaxLatitude())
+                                .putInt(chunkSize).putInt(hexagons.size());
+                for (Hexagon hexagon : hexagons) {
+                        if (buffer.remaining() < Long.BYTES) {
+                                digest.update(buffer.flip());
+                                buffer.clear();
+                        }
+                        buffer.putLong(hexagon.getCCI().getCellId());
+                }
+                digest.update(buffer.flip());
+
+                return HexFormat.of().formatHex(digest.digest());
+        }
+
+        /*
+         * Cell metrics
+         *
+         * Counts and sums of the values binned into each cell, by time bucket. The
+         * aggregates of a batch are merged into the metrics table in 3 round-trips,
+         * whatever the number of cells:
+         * 	1. a temporary staging table, dropped at commit
+         * 	2. a binary COPY of the aggregates into the staging table
+         * 	3. a single INSERT ... ON CONFLICT DO UPDATE that adds the counts and sums
+         * of the batch to the stored ones
+         *
+         * The batch is grouped by key before the merge, so it may contain several
+         * aggregates of the same cell and time bucket.
+         */
+        public final JsonObject createCellMetricsTable(String tableName) {
+                final JsonObject response = new JsonObject();
+
+                final String sql = String.format("""
+                                CREATE TABLE IF NOT EXISTS %s (
+                                        ccid_q          integer         NOT NULL,
+                                        ccid_r          integer         NOT NULL,
+                                        ccid_s          integer         NOT NULL,
+                                        time_bucket     timestamptz     NOT NULL,
+                                        value_count     bigint          NOT NULL,
+                                        value_sum       float8          NOT NULL,
+                                        PRIMARY KEY (ccid_q, ccid_r, ccid_s, time_bucket)
+                                );
+                                """, tableName);
+
+                try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+                        statement.executeUpdate(sql);
+                        response.addProperty("status", "SUCCESS");
+
+                } catch (SQLException e) {
+                        response.addProperty("status", "FAILED");
+                        response.addProperty("error", e.toString());
+                        printSQLException(e);
+                }
+
+                return response;
+        }
+
+        public final JsonObject upsertCellAggregates(String tableName, Collection<CellAggregate> aggregates) {
+                // Prepare response
+                JsonObject response = new JsonObject();
+                JsonObject message = new JsonObject();
+
+                final String createStagingSql = String.format("""
+                                CREATE TEMPORARY TABLE cell_aggregates_staging
+                                (LIKE %s INCLUDING DEFAULTS) ON COMMIT DROP
+                                """, tableName);
+                final String copySql = String.format("COPY cell_aggregates_staging (%s) FROM STDIN (FORMAT binary)",
+                                PgCopyBinaryWriter.CELL_AGGREGATE_COLUMNS);
+                final String upsertSql = String.format("""
+                                INSERT INTO %1$s AS metrics (%2$s)
+                                SELECT ccid_q, ccid_r, ccid_s, time_bucket, sum(value_count), sum(value_sum)
+                                FROM cell_aggregates_staging
+                                GROUP BY ccid_q, ccid_r, ccid_s, time_bucket
+                                ON CONFLICT (ccid_q, ccid_r, ccid_s, time_bucket) DO UPDATE
+                                SET value_count = metrics.value_count + EXCLUDED.value_count,
+                                    value_sum = metrics.value_sum + EXCLUDED.value_sum
+                                """, tableName, PgCopyBinaryWriter.CELL_AGGREGATE_COLUMNS);
+
+                // Start time
+                final long startTime = System.currentTimeMillis();
+
+                long rowsCopied = 0;
+                int rowsUpserted = 0;
+                try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+                        connection.setAutoCommit(false);
+                        try {
+                                statement.executeUpdate(createStagingSql);
+                                rowsCopied = copy(connection, copySql, copyWriter -> {
+                                        for (CellAggregate aggregate : aggregates) {
+                                                copyWriter.cellAggregateRow(aggregate);
+                                        }
+                                });
+                                rowsUpserted = statement.executeUpdate(upsertSql);
+
+                                connection.commit();
+                        } catch (SQLException e) {
+                                connection.rollback();
+                                throw e;
+                        }
+
+                        response.addProperty("status", "SUCCESS");
+
+                } catch (SQLException e) {
+                        response.addProperty("status", "FAILED");
+                        response.addProperty("error", e.toString());
+                        printSQLException(e);
+                }
+
+                final double elapsedMillisecs = System.currentTimeMillis() - startTime;
+
+                /*
+                 * Prepare upsertCellAggregates response
+                 */
+                response.add("message", message);
+
+                message.addProperty("tableName", tableName);
+                message.addProperty("totalAggregates", aggregates.size());
+                message.addProperty("rowsCopied", rowsCopied);
+                // Distinct (cell, time bucket) of the batch, inserted or updated
+                message.addProperty("rowsUpserted", rowsUpserted);
+                message.addProperty("elapsedSeconds", elapsedMillisecs / 1000);
+                message.addProperty("rowsPerSecond", rowsPerSecond(rowsCopied, elapsedMillisecs));
+
+                return response;
+        }
+
+        public final JsonObject addPrimaryKeyIfNotExists(String tableName) {
+                JsonObject response = new JsonObject();
+
+                final String checkPrimaryKeySql = String.format("""
+                                SELECT constraint_name from information_schema.table_constraints
+                                WHERE table_name = '%s'
+                                AND constraint_type = 'PRIMARY KEY'
+                                """, tableName);
+                final String addPrimaryKeySql = String.format("""
+                                ALTER TABLE %s
+                                ADD PRIMARY KEY (ccid_q, ccid_r, ccid_s)
+                                """, tableName);
+
+                try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+                        ResultSet rs = statement.executeQuery(checkPrimaryKeySql);
+
+                        boolean hasPrimaryKey = rs.next(); // Return `false` if there is no more row (means no PK)
+                        if (hasPrimaryKey) {
+                                // Query PRIMARY KEY name
+                                String constraintName = rs.getString("constraint_name");
+                                System.out.println(String.format(
+                                                "PRIMARY KEY '%s' already exists for table '%s'.",
+                                                constraintName,
+                                                tableName));
+                        } else {
+                                statement.executeUpdate(addPrimaryKeySql);
+                                rs = statement.executeQuery(checkPrimaryKeySql);
+
+                                boolean hasNextRow = rs.next();
+                                if (hasNextRow) {
+                                        response.addProperty("status", "SUCCESS");
+                                        response.addProperty("message", String.format(
+                                                        "PRIMARY KEY '%s' added to table '%s'.",
+                                                        rs.getString("constraint_name"),
+                                                        tableName));
+                                } else {
+                                        response.addProperty("status", "FAILED");
+                                        response.addProperty("message", String.format(
+                                                        "Failed to add PRIMARY KEY to table '%s'.",
+                                                        tableName));
+                                }
+                        }
+
+                } catch (SQLException e) {
+                        printSQLException(e);
+                }
+
+                return response;
+        }
+
+        public static void printBatchUpdateException(BatchUpdateException b) {
+                System.err.println("--- BatchUpdateException");
                 System.err.println("SQLState: \t" + b.getSQLState());
                 System.err.println("Message: \t" + b.getMessage());
                 System.err.println("Vendor: \t" + b.getErrorCode());
@@ -345,6 +1649,315 @@ public class PostgresJDBC {
         }
 
         /* Private methods */
+        private static final double parseCircumradius(String tableName) {
+                final Matcher radiusMatcher = TESSELLATION_TABLE_RADIUS_PATTERN.matcher(tableName);
+                if (!radiusMatcher.matches()) {
+                        throw new IllegalArgumentException("Not a tessellation table name (%s_tessellation_%sm): " + tableName);
+                }
+
+                return Double.parseDouble(radiusMatcher.group(1));
+        }
+
+        /*
+         * streamTessellationBbox of a compact table: the boundary is expanded by the
+         * half-extents of a hexagon, so the centroid index selects the same rows as
+         * the geometry index of a full table, and the polygons are generated here.
+         */
+        private final long streamCompactTessellationBbox(Connection connection, String tableName, Boundary boundary,
+                        TessellationRowHandler handler) throws SQLException, IOException {
+                final double circumradius = parseCircumradius(tableName);
+                final double circumradiusLng = SphericalMercatorProjection.xToLongitude(circumradius);
+                final double inradiusLat = SphericalMercatorProjection.yToLatitude(circumradius * Math.sqrt(3) / 2);
+
+                final String sql = String.format("""
+                                SELECT cell_id, ST_AsBinary(centroid)
+                                FROM %s
+                                WHERE centroid && ST_MakeEnvelope(?, ?, ?, ?, 4326)
+                                """, tableName);
+
+                long rows = 0;
+                connection.setAutoCommit(false);
+
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        statement.setFetchSize(READ_FETCH_SIZE);
+                        statement.setDouble(1, boundary.getMinCoordinates().getLongitude() - circumradiusLng);
+                        statement.setDouble(2, boundary.getMinCoordinates().getLatitude() - inradiusLat);
+                        statement.setDouble(3, boundary.getMaxCoordinates().getLongitude() + circumradiusLng);
+                        statement.setDouble(4, boundary.getMaxCoordinates().getLatitude() + inradiusLat);
+
+                        try (ResultSet rs = statement.executeQuery()) {
+                                while (rs.next()) {
+                                        final long cellId = rs.getLong(1);
+                                        final int q = CubeCoordinatesIndex.cellIdToQ(cellId);
+                                        final int r = CubeCoordinatesIndex.cellIdToR(cellId);
+                                        final Coordinates centroid = WkbReader.readPoint(rs.getBytes(2));
+
+                                        handler.onRow(new TessellationRow(q, r, -q - r, circumradius, centroid,
+                                                        new Hexagon(centroid, circumradius).getGisVertices()));
+                                        rows++;
+                                }
+                        }
+                }
+
+                return rows;
+        }
+
+        /* fetchTessellationTile of a compact table, polygons are generated by hexagon_polygon */
+        private final byte[] fetchCompactTessellationTile(Connection connection, String tableName, int z, int x, int y)
+                        throws SQLException {
+                final double circumradius = parseCircumradius(tableName);
+
+                final String sql = String.format("""
+                                WITH bounds AS (
+                                        SELECT ST_TileEnvelope(?, ?, ?) AS geom
+                                ), tile AS (
+                                        SELECT ST_AsMVTGeom(ST_Transform(hexagon_polygon(t.centroid, ?), 3857), bounds.geom) AS geom,
+                                                (t.cell_id >> 32)::integer AS ccid_q,
+                                                ((t.cell_id << 32) >> 32)::integer AS ccid_r,
+                                                (-(t.cell_id >> 32) - ((t.cell_id << 32) >> 32))::integer AS ccid_s
+                                        FROM %s t, bounds
+                                        WHERE t.centroid && ST_Expand(ST_Transform(bounds.geom, 4326), ?, ?)
+                                )
+                                SELECT ST_AsMVT(tile, 'hexagons') FROM tile
+                                """, tableName);
+
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        statement.setInt(1, z);
+                        statement.setInt(2, x);
+                        statement.setInt(3, y);
+                        statement.setDouble(4, circumradius);
+                        statement.setDouble(5, SphericalMercatorProjection.xToLongitude(circumradius));
+                        statement.setDouble(6, SphericalMercatorProjection.yToLatitude(circumradius * Math.sqrt(3) / 2));
+
+                        try (ResultSet rs = statement.executeQuery()) {
+                                final byte[] tile = rs.next() ? rs.getBytes(1) : null;
+                                return tile == null ? new byte[0] : tile;
+                        }
+                }
+        }
+
+        private final JsonObject createTessellationTable(String tableName, String tableType) {
+                return createTessellationTable(tableName, tableType, "");
+        }
+
+        private final JsonObject createTessellationTable(String tableName, String tableType, String partitionBy) {
+                final JsonObject response = new JsonObject();
+
+                final String sql = """
+                                CREATE %s %s (
+                                        ccid_q          integer                 NOT NULL,
+                                        ccid_r          integer                 NOT NULL,
+                                        ccid_s          integer                 NOT NULL,
+                                        circumradius    float8                  NOT NULL,
+                                        centroid        geometry(POINT, 4326)   NOT NULL,
+                                        geometry        geometry(POLYGON, 4326) NOT NULL
+                                ) %s;
+                                """;
+
+                try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+                        String createTableQuery = String.format(sql, tableType, tableName, partitionBy);
+
+                        int statusCode = statement.executeUpdate(createTableQuery);
+                        if (statusCode == 0) {
+                                response.addProperty("status", "SUCCESS");
+                                System.out.println("Executed createTessellationTable successfully.");
+                        } else {
+                                response.addProperty("status", "FAILED");
+                                System.out.println("Failed to execute createTessellationTable.");
+                        }
+
+                } catch (SQLException e) {
+                        response.addProperty("error", e.toString());
+                        printSQLException(e);
+                }
+
+                return response;
+        }
+
+        /* Execute each statement on its own connection, in parallel, throws the first failure */
+        private final void executeInParallel(List<String> sqls) throws SQLException {
+                final ExecutorService executor = Executors.newFixedThreadPool(Math.min(sqls.size(), getMaxPoolSize()));
+                final List<Future<Integer>> futures = new ArrayList<Future<Integer>>(sqls.size());
+
+                for (String sql : sqls) {
+                        futures.add(executor.submit(() -> {
+                                try (Connection connection = getConnection();
+                                                Statement statement = connection.createStatement()) {
+                                        return statement.executeUpdate(sql);
+                                }
+                        }));
+                }
+                executor.shutdown();
+
+                SQLException failure = null;
+                for (Future<Integer> future : futures) {
+                        try {
+                                future.get();
+                        } catch (ExecutionException e) {
+                                if (failure == null) {
+                                        failure = e.getCause() instanceof SQLException
+                                                        ? (SQLException) e.getCause()
+                                                        : new SQLException(e.getCause());
+                                }
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new SQLException("Interrupted while executing statements.", e);
+                        }
+                }
+
+                if (failure != null) {
+                        throw failure;
+                }
+        }
+
+        /*
+         * Result of a COPY worker. If the load is cancelled meanwhile (interrupt), the
+         * workers are told to roll back (copyFailed) and are still waited for: none of
+         * them commits, nor still writes, once the load returns. The interrupt status
+         * is restored for the caller.
+         */
+        private static final JsonObject awaitCopyWorker(Future<JsonObject> future, AtomicBoolean copyFailed)
+                        throws ExecutionException {
+                boolean interrupted = false;
+                try {
+                        while (true) {
+                                try {
+                                        return future.get();
+                                } catch (InterruptedException e) {
+                                        interrupted = true;
+                                        copyFailed.set(true);
+                                }
+                        }
+                } finally {
+                        if (interrupted) {
+                                Thread.currentThread().interrupt();
+                        }
+                }
+        }
+
+        /* Run a binary COPY ... FROM STDIN on the connection (without committing), returns the rows copied */
+        private static final long copy(Connection connection, String copySql, CopyRows rows) throws SQLException {
+                // Size of the buffer sent to the server per CopyData message
+                final int COPY_BUFFER_BYTES = 1 << 16;
+
+                final PGCopyOutputStream copyStream = new PGCopyOutputStream(
+                                connection.unwrap(PGConnection.class), copySql, COPY_BUFFER_BYTES);
+                try {
+                        final PgCopyBinaryWriter copyWriter = new PgCopyBinaryWriter(copyStream);
+                        rows.write(copyWriter);
+                        copyWriter.finish();
+
+                        return copyStream.endCopy();
+                } catch (IOException e) {
+                        throw new SQLException("COPY failed: " + e.getMessage(), e);
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("COPY interrupted.", e);
+                } finally {
+                        // Abort the COPY if still in progress
+                        if (copyStream.isActive()) {
+                                copyStream.cancelCopy();
+                        }
+                }
+        }
+
+        private static final long packRange(int rangeStart, int rangeEnd) {
+                return ((long) rangeStart << 32) | (rangeEnd & 0xFFFFFFFFL);
+        }
+
+        /* Rows written into a COPY */
+        @FunctionalInterface
+        private interface CopyRows {
+                void write(PgCopyBinaryWriter copyWriter) throws IOException, InterruptedException;
+        }
+
+        /* COPY statements of a worker, on its connection, returns the rows copied */
+        @FunctionalInterface
+        private interface WorkerCopy {
+                long copy(Connection connection) throws SQLException;
+        }
+
+        /*
+         * COPY a range of hexagons on a dedicated connection, then wait at the
+         * commitBarrier for the other workers before committing or rolling back.
+         * The connections of all the workers are borrowed together before they start
+         * (see getConnections), each worker gives its connection back.
+         */
+        private final JsonObject copyWorker(int worker, Connection connection, String copySql, CopyRows rows,
+                        AtomicBoolean copyFailed, CyclicBarrier commitBarrier, AtomicBoolean commit) {
+                return copyWorker(worker, connection, c -> copy(c, copySql, rows), copyFailed, commitBarrier, commit);
+        }
+
+        private final JsonObject copyWorker(int worker, Connection connection, WorkerCopy workerCopy,
+                        AtomicBoolean copyFailed, CyclicBarrier commitBarrier, AtomicBoolean commit) {
+                final JsonObject status = new JsonObject();
+                status.addProperty("worker", worker);
+
+                final long startTime = System.currentTimeMillis();
+                try {
+                        connection.setAutoCommit(false);
+
+                        status.addProperty("rowsInserted", workerCopy.copy(connection));
+
+                } catch (SQLException e) {
+                        copyFailed.set(true);
+                        status.addProperty("error", e.toString());
+                        printSQLException(e);
+                } catch (Exception e) {
+                        // e.g. pool closed or UncheckedIOException, the worker must still reach the barrier
+                        copyFailed.set(true);
+                        status.addProperty("error", e.toString());
+                }
+
+                final double copyMillisecs = System.currentTimeMillis() - startTime;
+                status.addProperty("elapsedSeconds", copyMillisecs / 1000);
+                if (!status.has("error")) {
+                        status.addProperty("rowsPerSecond",
+                                        rowsPerSecond(status.get("rowsInserted").getAsLong(), copyMillisecs));
+                }
+
+                /*
+                 * Every worker must arrive, even after a failure, or the others would wait
+                 * forever. A worker that never arrives (e.g. stuck) times out the barrier,
+                 * which breaks it for the others: all of them roll back.
+                 */
+                try {
+                        commitBarrier.await(COMMIT_BARRIER_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+                } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                        commit.set(false);
+                        status.addProperty("error", e.toString());
+                }
+
+                try {
+                        if (commit.get()) {
+                                connection.commit();
+                        } else {
+                                connection.rollback();
+                                status.addProperty("rolledBack", true);
+                        }
+                } catch (SQLException e) {
+                        status.addProperty("error", e.toString());
+                        printSQLException(e);
+                } finally {
+                        // Back to the pool
+                        try {
+                                connection.close();
+                        } catch (SQLException e) {
+                                printSQLException(e);
+                        }
+                }
+
+                return status;
+        }
+
+        private static final long rowsPerSecond(long rows, double elapsedMillisecs) {
+                if (elapsedMillisecs <= 0) {
+                        return rows;
+                }
+
+                return Math.round(rows / (elapsedMillisecs / 1000));
+        }
+
         private final String generateJDBCUrl() {
                 final StringBuilder urlBuilder = new StringBuilder().append(DBMS_URL);
 
@@ -412,6 +2025,11 @@ public class PostgresJDBC {
                 private String database;
                 private Properties properties = new Properties();
 
+                /* Connection pool */
+                private int maxPoolSize = 10;
+                private int connectionTimeoutSeconds = 30;
+                private int maxIdleSeconds = 300;
+
                 private final Dotenv dotenv = Dotenv.load();
 
                 public Builder() {
@@ -449,6 +2067,21 @@ public class PostgresJDBC {
                         return this;
                 }
 
+                public final Builder maxPoolSize(int maxPoolSize) {
+                        this.maxPoolSize = maxPoolSize;
+                        return this;
+                }
+
+                public final Builder connectionTimeoutSeconds(int connectionTimeoutSeconds) {
+                        this.connectionTimeoutSeconds = connectionTimeoutSeconds;
+                        return this;
+                }
+
+                public final Builder maxIdleSeconds(int maxIdleSeconds) {
+                        this.maxIdleSeconds = maxIdleSeconds;
+                        return this;
+                }
+
                 public final PostgresJDBC build() {
                         return new PostgresJDBC(this);
                 }
@@ -0,0 +1,74 @@
+package com.geospatial.hexagongrid.database;
+
+import java.util.List;
+
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * TessellationPartitioning
+ *
+ * Declarative partitioning of a tessellation table by ranges of ccid_q (PARTITION
+ * BY RANGE (ccid_q)): the grid is cut into `partitions` vertical bands of `width`
+ * columns of hexagons, partition i holds the cells whose q is in
+ * [minQ + i * width, minQ + (i + 1) * width).
+ *
+ * The first and last partitions are unbounded (MINVALUE, MAXVALUE), so cells
+ * outside of the original grid still have a partition.
+ */
+@Getter
+@ToString
+public class TessellationPartitioning {
+	private final int partitions;
+	private final int minQ;
+	private final int width;
+
+	public TessellationPartitioning(int minQ, int maxQ, int partitions) {
+		if (partitions < 1) {
+			throw new IllegalArgumentException("partitions must be >= 1, currently: " + partitions);
+		}
+
+		final long columns = (long) maxQ - minQ + 1;
+		this.minQ = minQ;
+		this.width = (int) Math.max(1, (columns + partitions - 1) / partitions);
+		// No empty partitions if there are fewer columns than partitions
+		this.partitions = (int) Math.max(1, (columns + width - 1) / width);
+	}
+
+	/* Partitioning of the q range of the hexagons */
+	public static TessellationPartitioning of(List<Hexagon> hexagons, int partitions) {
+		int minQ = Integer.MAX_VALUE;
+		int maxQ = Integer.MIN_VALUE;
+		for (Hexagon hexagon : hexagons) {
+			final int q = hexagon.getCCI().getQ();
+			minQ = Math.min(minQ, q);
+			maxQ = Math.max(maxQ, q);
+		}
+
+		if (hexagons.isEmpty()) {
+			minQ = maxQ = 0;
+		}
+
+		return new TessellationPartitioning(minQ, maxQ, partitions);
+	}
+
+	/* Methods */
+	public final int partitionOf(int q) {
+		final int partition = Math.floorDiv(q - minQ, width);
+		return Math.min(Math.max(partition, 0), partitions - 1);
+	}
+
+	public static String partitionName(String tableName, int partition) {
+		return tableName + "_p" + partition;
+	}
+
+	/* Partition bound of CREATE TABLE ... PARTITION OF */
+	final String forValues(int partition) {
+		final String from = partition == 0 ? "MINVALUE" : String.valueOf(minQ + partition * width);
+		final String to = partition == partitions - 1 ? "MAXVALUE" : String.valueOf(minQ + (partition + 1) * width);
+
+		return String.format("FOR VALUES FROM (%s) TO (%s)", from, to);
+	}
+}
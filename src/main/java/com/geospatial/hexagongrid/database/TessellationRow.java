@@ -0,0 +1,34 @@
+package com.geospatial.hexagongrid.database;
+
+import java.util.List;
+
+import com.geospatial.hexagongrid.hexagon.Coordinates;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * TessellationRow
+ *
+ * A hexagon read from a tessellation table, as stored: its geometry is decoded
+ * from WKB instead of being generated again from the centroid.
+ */
+@Getter
+@ToString
+public class TessellationRow {
+	private final int q;
+	private final int r;
+	private final int s;
+	private final double circumradius;
+	private final Coordinates centroid;
+	private final List<Coordinates> gisVertices;
+
+	TessellationRow(int q, int r, int s, double circumradius, Coordinates centroid, List<Coordinates> gisVertices) {
+		this.q = q;
+		this.r = r;
+		this.s = s;
+		this.circumradius = circumradius;
+		this.centroid = centroid;
+		this.gisVertices = gisVertices;
+	}
+}
@@ -0,0 +1,9 @@
+package com.geospatial.hexagongrid.database;
+
+import java.io.IOException;
+
+/* Receives the rows of PostgresJDBC.streamTessellationBbox, one at a time */
+@FunctionalInterface
+public interface TessellationRowHandler {
+	void onRow(TessellationRow row) throws IOException;
+}
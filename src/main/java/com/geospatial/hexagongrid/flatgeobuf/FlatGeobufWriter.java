@@ -0,0 +1,275 @@
+package com.geospatial.hexagongrid.flatgeobuf;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import com.geospatial.hexagongrid.hexagon.Coordinates;
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.index.CubeCoordinatesIndex;
+import com.geospatial.hexagongrid.index.HilbertCurve;
+import com.geospatial.hexagongrid.tessellation.CornerEdgeTessellation;
+import com.google.flatbuffers.FlatBufferBuilder;
+
+import lombok.Getter;
+
+/*
+ * FlatGeobufWriter
+ *
+ * Writes hexagons as a FlatGeobuf file (https://flatgeobuf.org), a binary format
+ * based on FlatBuffers with an optional spatial index:
+ * 	1. magic bytes
+ * 	2. Header (size-prefixed FlatBuffer): envelope, geometry type, columns, CRS...
+ * 	3. Index: a packed Hilbert R-tree of all features' bounding boxes
+ * 	4. Features (size-prefixed FlatBuffers), sorted in Hilbert order
+ *
+ * Because of the index, clients (QGIS, GDAL, flatgeobuf.js) can read only the
+ * features of a bbox with HTTP range requests instead of the whole file.
+ *
+ * Each feature is a Polygon with the properties: ccid_q, ccid_r, ccid_s, circumradius, inradius.
+ */
+public class FlatGeobufWriter {
+	public static final String CONTENT_TYPE = "application/flatgeobuf";
+	public static final String FILE_EXTENSION = ".fgb";
+
+	private static final byte[] MAGIC_BYTES = { 0x66, 0x67, 0x62, 0x03, 0x66, 0x67, 0x62, 0x00 };
+	private static final int INDEX_NODE_SIZE = 16;
+	private static final int EPSG_WGS84 = 4326;
+
+	/* FlatGeobuf schema enums (header.fbs) */
+	private static final byte GEOMETRY_TYPE_POLYGON = 3;
+	private static final byte COLUMN_TYPE_INT = 5;
+	private static final byte COLUMN_TYPE_DOUBLE = 10;
+
+	/* Columns, the order is important since properties are encoded by column index */
+	private static final String[] COLUMN_NAMES = { "ccid_q", "ccid_r", "ccid_s", "circumradius", "inradius" };
+	private static final byte[] COLUMN_TYPES = {
+			COLUMN_TYPE_INT, COLUMN_TYPE_INT, COLUMN_TYPE_INT, COLUMN_TYPE_DOUBLE, COLUMN_TYPE_DOUBLE };
+	// 5 column indexes (ushort) + 3 ints + 2 doubles
+	private static final int PROPERTIES_BYTES = 5 * 2 + 3 * 4 + 2 * 8;
+
+	@Getter
+	private final String name;
+	private final List<Hexagon> hexagons;
+
+	/* Reusable buffers - a writer is not thread-safe */
+	private final FlatBufferBuilder builder = new FlatBufferBuilder(1024);
+	private final ByteBuffer properties = ByteBuffer.allocate(PROPERTIES_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+	/* Constructors */
+	public FlatGeobufWriter(String name, List<Hexagon> hexagons) {
+		if (hexagons.isEmpty()) {
+			throw new IllegalArgumentException("Cannot write FlatGeobuf without hexagons.");
+		}
+
+		this.name = name;
+		this.hexagons = hexagons;
+	}
+
+	public FlatGeobufWriter(String name, CornerEdgeTessellation tessellation) {
+		this(name, tessellation.getGisHexagons());
+	}
+
+	/* Public methods */
+	public final void write(OutputStream outputStream) throws IOException {
+		final OutputStream out = new BufferedOutputStream(outputStream, 1 << 16);
+		final int featuresCount = hexagons.size();
+
+		/* Bounding boxes & extent */
+		final double[] boxes = new double[featuresCount * 4];
+		double extentMinX = Double.POSITIVE_INFINITY;
+		double extentMinY = Double.POSITIVE_INFINITY;
+		double extentMaxX = Double.NEGATIVE_INFINITY;
+		double extentMaxY = Double.NEGATIVE_INFINITY;
+
+		for (int i = 0; i < featuresCount; i++) {
+			double minX = Double.POSITIVE_INFINITY;
+			double minY = Double.POSITIVE_INFINITY;
+			double maxX = Double.NEGATIVE_INFINITY;
+			double maxY = Double.NEGATIVE_INFINITY;
+
+			for (Coordinates vertex : hexagons.get(i).getGisVertices()) {
+				minX = Math.min(minX, vertex.getLongitude());
+				minY = Math.min(minY, vertex.getLatitude());
+				maxX = Math.max(maxX, vertex.getLongitude());
+				maxY = Math.max(maxY, vertex.getLatitude());
+			}
+
+			boxes[i * 4] = minX;
+			boxes[i * 4 + 1] = minY;
+			boxes[i * 4 + 2] = maxX;
+			boxes[i * 4 + 3] = maxY;
+
+			extentMinX = Math.min(extentMinX, minX);
+			extentMinY = Math.min(extentMinY, minY);
+			extentMaxX = Math.max(extentMaxX, maxX);
+			extentMaxY = Math.max(extentMaxY, maxY);
+		}
+
+		/* Sort features by the Hilbert value of their bbox center (descending, as the reference implementations) */
+		final double width = extentMaxX - extentMinX;
+		final double height = extentMaxY - extentMinY;
+		final long[] sortKeys = new long[featuresCount];
+		for (int i = 0; i < featuresCount; i++) {
+			final double centerX = (boxes[i * 4] + boxes[i * 4 + 2]) / 2;
+			final double centerY = (boxes[i * 4 + 1] + boxes[i * 4 + 3]) / 2;
+			final long hilbertValue = HilbertCurve.hilbert(centerX, centerY, extentMinX, extentMinY, width, height);
+
+			// Pack (32 bits hilbertValue, 31 bits index) to sort primitives instead of boxed indexes
+			sortKeys[i] = (hilbertValue << 31) | i;
+		}
+		Arrays.sort(sortKeys);
+
+		final int[] order = new int[featuresCount];
+		for (int i = 0; i < featuresCount; i++) {
+			order[i] = (int) (sortKeys[featuresCount - 1 - i] & Integer.MAX_VALUE);
+		}
+
+		/*
+		 * Index: leaves point to the byte offset of each feature in the features section.
+		 * Every feature has the same layout (a ring of 7 vertices, the same properties),
+		 * so the same size: features are only encoded once, while writing them.
+		 */
+		final int featureSize = buildFeature(hexagons.get(0)).remaining();
+		final PackedRTree index = new PackedRTree(featuresCount, INDEX_NODE_SIZE);
+		long featureOffset = 0;
+		for (int i : order) {
+			index.addLeaf(boxes[i * 4], boxes[i * 4 + 1], boxes[i * 4 + 2], boxes[i * 4 + 3], featureOffset);
+			featureOffset += featureSize;
+		}
+
+		/* Write file */
+		out.write(MAGIC_BYTES);
+		writeBuffer(out, buildHeader(featuresCount, extentMinX, extentMinY, extentMaxX, extentMaxY));
+		index.write(out);
+		for (int i : order) {
+			final ByteBuffer feature = buildFeature(hexagons.get(i));
+			if (feature.remaining() != featureSize) {
+				// The index would point into the middle of features
+				throw new IllegalStateException("Feature of " + feature.remaining() + " bytes, expected: " + featureSize);
+			}
+			writeBuffer(out, feature);
+		}
+
+		out.flush();
+	}
+
+	public final byte[] toByteArray() {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			write(out);
+		} catch (IOException e) {
+			// ByteArrayOutputStream never throws IOException
+			throw new IllegalStateException(e);
+		}
+
+		return out.toByteArray();
+	}
+
+	public final void export(Path path) throws IOException {
+		try (OutputStream out = Files.newOutputStream(path)) {
+			write(out);
+		}
+	}
+
+	/* Internal methods */
+	private final ByteBuffer buildHeader(int featuresCount,
+			double minX, double minY, double maxX, double maxY) {
+		builder.clear();
+
+		final int nameOffset = builder.createString(name);
+
+		// envelope: [minX, minY, maxX, maxY]
+		final double[] envelope = { minX, minY, maxX, maxY };
+		final int envelopeOffset = createDoubleVector(envelope);
+
+		// columns
+		final int[] columnOffsets = new int[COLUMN_NAMES.length];
+		for (int i = 0; i < COLUMN_NAMES.length; i++) {
+			final int columnNameOffset = builder.createString(COLUMN_NAMES[i]);
+
+			builder.startTable(11);
+			builder.addOffset(0, columnNameOffset, 0); // name
+			builder.addByte(1, COLUMN_TYPES[i], 0); // type
+			builder.addBoolean(7, false, true); // nullable
+			columnOffsets[i] = builder.endTable();
+		}
+		final int columnsOffset = builder.createVectorOfTables(columnOffsets);
+
+		// crs
+		final int crsOrgOffset = builder.createString("EPSG");
+		builder.startTable(6);
+		builder.addOffset(0, crsOrgOffset, 0); // org
+		builder.addInt(1, EPSG_WGS84, 0); // code
+		final int crsOffset = builder.endTable();
+
+		builder.startTable(14);
+		builder.addOffset(0, nameOffset, 0); // name
+		builder.addOffset(1, envelopeOffset, 0); // envelope
+		builder.addByte(2, GEOMETRY_TYPE_POLYGON, 0); // geometry_type
+		builder.addOffset(7, columnsOffset, 0); // columns
+		builder.addLong(8, featuresCount, 0); // features_count
+		builder.addShort(9, (short) INDEX_NODE_SIZE, 0); // index_node_size
+		builder.addOffset(10, crsOffset, 0); // crs
+		final int headerOffset = builder.endTable();
+
+		builder.finishSizePrefixed(headerOffset);
+		return builder.dataBuffer();
+	}
+
+	private final ByteBuffer buildFeature(Hexagon hexagon) {
+		builder.clear();
+
+		// Geometry: a single ring, so `ends` is not required
+		final List<Coordinates> gisVertices = hexagon.getGisVertices();
+		final double[] xy = new double[gisVertices.size() * 2];
+		for (int i = 0; i < gisVertices.size(); i++) {
+			xy[i * 2] = gisVertices.get(i).getLongitude();
+			xy[i * 2 + 1] = gisVertices.get(i).getLatitude();
+		}
+		final int xyOffset = createDoubleVector(xy);
+
+		builder.startTable(8);
+		builder.addOffset(1, xyOffset, 0); // xy
+		builder.addByte(6, GEOMETRY_TYPE_POLYGON, 0); // type
+		final int geometryOffset = builder.endTable();
+
+		// Properties: (ushort column index, value) pairs in little-endian
+		final CubeCoordinatesIndex cci = hexagon.getCCI();
+		properties.clear();
+		properties.putShort((short) 0).putInt(cci.getQ());
+		properties.putShort((short) 1).putInt(cci.getR());
+		properties.putShort((short) 2).putInt(cci.getS());
+		properties.putShort((short) 3).putDouble(hexagon.getCircumradius());
+		properties.putShort((short) 4).putDouble(hexagon.getInradius());
+		final int propertiesOffset = builder.createByteVector(properties.array(), 0, properties.position());
+
+		builder.startTable(3);
+		builder.addOffset(0, geometryOffset, 0); // geometry
+		builder.addOffset(1, propertiesOffset, 0); // properties
+		final int featureOffset = builder.endTable();
+
+		builder.finishSizePrefixed(featureOffset);
+		return builder.dataBuffer();
+	}
+
+	private final int createDoubleVector(double[] values) {
+		builder.startVector(8, values.length, 8);
+		for (int i = values.length - 1; i >= 0; i--) {
+			builder.addDouble(values[i]);
+		}
+
+		return builder.endVector();
+	}
+
+	private static final void writeBuffer(OutputStream out, ByteBuffer buffer) throws IOException {
+		out.write(buffer.array(), buffer.position(), buffer.remaining());
+	}
+}
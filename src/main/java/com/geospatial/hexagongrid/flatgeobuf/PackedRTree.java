@@ -0,0 +1,162 @@
+package com.geospatial.hexagongrid.flatgeobuf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * PackedRTree
+ *
+ * The static, packed Hilbert R-tree of the FlatGeobuf spec:
+ * - https://github.com/flatgeobuf/flatgeobuf/blob/master/SPEC.md
+ *
+ * The tree is stored as a flat array of NodeItems (minX, minY, maxX, maxY, offset),
+ * level by level, with the root first and the leaves last:
+ * 	- leaf nodes: bounding box of one feature, offset = byte offset of the feature
+ * in the features section.
+ * 	- parent nodes: bounding box of up to nodeSize children, offset = index of
+ * its first child node.
+ *
+ * Leaves must be added in the same order as the features are written (Hilbert order).
+ */
+class PackedRTree {
+	static final int NODE_ITEM_BYTES = 40;
+
+	private final int nodeSize;
+	private final int numItems;
+	private final int numNodes;
+	private final List<int[]> levelBounds;
+
+	private final double[] minX, minY, maxX, maxY;
+	private final long[] offsets;
+
+	private int leavesAdded = 0;
+
+	PackedRTree(int numItems, int nodeSize) {
+		if (numItems <= 0) {
+			throw new IllegalArgumentException("numItems must be > 0, currently: " + numItems);
+		}
+		if (nodeSize < 2) {
+			throw new IllegalArgumentException("nodeSize must be >= 2, currently: " + nodeSize);
+		}
+
+		this.numItems = numItems;
+		this.nodeSize = nodeSize;
+		this.levelBounds = generateLevelBounds(numItems, nodeSize);
+		this.numNodes = levelBounds.get(0)[1];
+
+		this.minX = new double[numNodes];
+		this.minY = new double[numNodes];
+		this.maxX = new double[numNodes];
+		this.maxY = new double[numNodes];
+		this.offsets = new long[numNodes];
+	}
+
+	/* Methods */
+	final void addLeaf(double minX, double minY, double maxX, double maxY, long featureOffset) {
+		if (leavesAdded >= numItems) {
+			throw new IllegalStateException("All " + numItems + " leaves have already been added.");
+		}
+
+		final int leafIndex = numNodes - numItems + leavesAdded;
+		this.minX[leafIndex] = minX;
+		this.minY[leafIndex] = minY;
+		this.maxX[leafIndex] = maxX;
+		this.maxY[leafIndex] = maxY;
+		this.offsets[leafIndex] = featureOffset;
+
+		leavesAdded++;
+	}
+
+	final void write(OutputStream out) throws IOException {
+		if (leavesAdded != numItems) {
+			throw new IllegalStateException(String.format(
+					"Expected %s leaves before writing the index, currently: %s", numItems, leavesAdded));
+		}
+
+		generateNodes();
+
+		final ByteBuffer buffer = ByteBuffer.allocate(NODE_ITEM_BYTES * 1024).order(ByteOrder.LITTLE_ENDIAN);
+		for (int i = 0; i < numNodes; i++) {
+			buffer.putDouble(minX[i]);
+			buffer.putDouble(minY[i]);
+			buffer.putDouble(maxX[i]);
+			buffer.putDouble(maxY[i]);
+			buffer.putLong(offsets[i]);
+
+			if (!buffer.hasRemaining()) {
+				out.write(buffer.array(), 0, buffer.position());
+				buffer.clear();
+			}
+		}
+		out.write(buffer.array(), 0, buffer.position());
+	}
+
+	static final long calcTreeSize(int numItems, int nodeSize) {
+		return (long) generateLevelBounds(numItems, nodeSize).get(0)[1] * NODE_ITEM_BYTES;
+	}
+
+	/* Internal methods */
+	private final void generateNodes() {
+		// Walk from the leaves (level 0) up to the root, each parent covers up to nodeSize children
+		for (int level = 0; level < levelBounds.size() - 1; level++) {
+			int position = levelBounds.get(level)[0];
+			final int end = levelBounds.get(level)[1];
+			int parentPosition = levelBounds.get(level + 1)[0];
+
+			while (position < end) {
+				double nodeMinX = Double.POSITIVE_INFINITY;
+				double nodeMinY = Double.POSITIVE_INFINITY;
+				double nodeMaxX = Double.NEGATIVE_INFINITY;
+				double nodeMaxY = Double.NEGATIVE_INFINITY;
+				final long firstChild = position;
+
+				for (int j = 0; j < nodeSize && position < end; j++, position++) {
+					nodeMinX = Math.min(nodeMinX, minX[position]);
+					nodeMinY = Math.min(nodeMinY, minY[position]);
+					nodeMaxX = Math.max(nodeMaxX, maxX[position]);
+					nodeMaxY = Math.max(nodeMaxY, maxY[position]);
+				}
+
+				minX[parentPosition] = nodeMinX;
+				minY[parentPosition] = nodeMinY;
+				maxX[parentPosition] = nodeMaxX;
+				maxY[parentPosition] = nodeMaxY;
+				offsets[parentPosition] = firstChild;
+				parentPosition++;
+			}
+		}
+	}
+
+	/*
+	 * Level bounds [start, end) of each level in the node array, from the leaves
+	 * (index 0) to the root (last index).
+	 */
+	private static final List<int[]> generateLevelBounds(int numItems, int nodeSize) {
+		final List<Integer> levelNumNodes = new ArrayList<Integer>();
+		long n = numItems;
+		long numNodes = n;
+		levelNumNodes.add(numItems);
+		do {
+			n = (n + nodeSize - 1) / nodeSize;
+			numNodes += n;
+			levelNumNodes.add((int) n);
+		} while (n != 1);
+
+		if (numNodes > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Too many items for a packed R-tree: " + numItems);
+		}
+
+		final List<int[]> levelBounds = new ArrayList<int[]>(levelNumNodes.size());
+		int end = (int) numNodes;
+		for (int size : levelNumNodes) {
+			levelBounds.add(new int[] { end - size, end });
+			end -= size;
+		}
+
+		return levelBounds;
+	}
+}
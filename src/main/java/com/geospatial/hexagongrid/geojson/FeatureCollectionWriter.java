@@ -0,0 +1,84 @@
+package com.geospatial.hexagongrid.geojson;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.tessellation.TessellationListener;
+import com.google.gson.Gson;
+
+import lombok.Getter;
+
+/*
+ * FeatureCollectionWriter
+ *
+ * Writes hexagons as a single GeoJSON FeatureCollection (same output as
+ * GeoJsonManager), one Feature at a time: the FeatureCollection is never held
+ * in memory, only the Feature being written.
+ *
+ * Used as a TessellationListener, Features are written as soon as the
+ * tessellation generates them and flushed after each ring, see
+ * GeoJsonSeqWriter for a sequence of Features instead.
+ */
+public class FeatureCollectionWriter implements TessellationListener, AutoCloseable {
+	private static final String HEADER = "{\"type\":\"FeatureCollection\",\"features\":[";
+	private static final String FOOTER = "]}";
+
+	private static final Gson gson = new Gson();
+
+	private final Writer writer;
+
+	@Getter
+	private long totalFeatures = 0;
+
+	/* Constructors */
+	public FeatureCollectionWriter(OutputStream outputStream) throws IOException {
+		this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 1 << 16);
+		this.writer.write(HEADER);
+	}
+
+	/* Public methods */
+	public final void write(Hexagon hexagon) throws IOException {
+		if (totalFeatures > 0) {
+			writer.write(',');
+		}
+		gson.toJson(GeoJsonManager.generateHexagonFeature(hexagon), writer);
+
+		totalFeatures++;
+	}
+
+	public final void flush() throws IOException {
+		writer.flush();
+	}
+
+	/* Ends the FeatureCollection, and closes the output stream */
+	@Override
+	public final void close() throws IOException {
+		writer.write(FOOTER);
+		writer.close();
+	}
+
+	/* TessellationListener */
+	@Override
+	public void onHexagon(Hexagon hexagon) {
+		try {
+			write(hexagon);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void onRingCompleted(int completedRings, int requiredRings) {
+		try {
+			flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
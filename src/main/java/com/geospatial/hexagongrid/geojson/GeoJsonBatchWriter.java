@@ -0,0 +1,81 @@
+package com.geospatial.hexagongrid.geojson;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.hexagon.HexagonBatch;
+import com.geospatial.hexagongrid.neighbors.Neighbors;
+import com.google.gson.Gson;
+
+/*
+ * GeoJsonBatchWriter
+ *
+ * Writes the results of a batch request (see HexagonBatch) as one
+ * FeatureCollection per line (NDJSON, or GeoJSON Text Sequences, see
+ * GeoJsonSeqWriter), line i being the result of entry i.
+ *
+ * Entries are processed by chunks: the FeatureCollections of a chunk are
+ * generated and serialized in parallel, then written in order and flushed, so
+ * memory stays bounded by the chunk size and clients receive the first results
+ * before the whole batch is processed.
+ */
+public class GeoJsonBatchWriter {
+	private static final int CHUNK_SIZE = 1024;
+
+	private static final char RECORD_SEPARATOR = 0x1E;
+	private static final char LINE_FEED = '\n';
+
+	private static final Gson gson = new Gson();
+
+	private final Writer writer;
+	private final boolean recordSeparator;
+
+	/* Constructors */
+	public GeoJsonBatchWriter(OutputStream outputStream, boolean recordSeparator) {
+		this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 1 << 16);
+		this.recordSeparator = recordSeparator;
+	}
+
+	/* Public methods */
+	public final void writeHexagons(HexagonBatch batch) throws IOException {
+		write(batch, hexagon -> new GeoJsonManager(hexagon).getFeatureCollection());
+	}
+
+	public final void writeNeighbors(HexagonBatch batch) throws IOException {
+		write(batch, hexagon -> new GeoJsonManager(new Neighbors(hexagon)).getFeatureCollection());
+	}
+
+	public final String getContentType() {
+		return recordSeparator ? GeoJsonSeqWriter.CONTENT_TYPE_GEOJSON_SEQ : GeoJsonSeqWriter.CONTENT_TYPE_NDJSON;
+	}
+
+	/* Internal methods */
+	private final void write(HexagonBatch batch, Function<Hexagon, FeatureCollection> mapper) throws IOException {
+		final String[] lines = new String[Math.min(CHUNK_SIZE, batch.getSize())];
+
+		for (int start = 0; start < batch.getSize(); start += CHUNK_SIZE) {
+			final int chunkStart = start;
+			final int chunkSize = Math.min(CHUNK_SIZE, batch.getSize() - start);
+
+			IntStream.range(0, chunkSize).parallel().forEach(i -> {
+				lines[i] = gson.toJson(mapper.apply(batch.getHexagon(chunkStart + i)));
+			});
+
+			for (int i = 0; i < chunkSize; i++) {
+				if (recordSeparator) {
+					writer.write(RECORD_SEPARATOR);
+				}
+				writer.write(lines[i]);
+				writer.write(LINE_FEED);
+			}
+			writer.flush();
+		}
+	}
+}
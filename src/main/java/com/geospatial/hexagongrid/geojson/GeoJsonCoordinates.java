@@ -39,9 +39,17 @@ class GeoJsonCoordinates {
 		return polygonCoordinates;
 	}
 
+	/* Polygon from its vertices (e.g. read from a database) */
+	final static List<List<List<Double>>> generatePolygonCoordinates(List<Coordinates> gisVertices) {
+		return Arrays.asList(generatePositions(gisVertices));
+	}
+
 	// Internal methods: handle data processing in this class (private)
 	private final static List<List<Double>> generatePositions(Hexagon hexagon) {
-		final List<Coordinates> gisVertices = hexagon.getGisVertices();
+		return generatePositions(hexagon.getGisVertices());
+	}
+
+	private final static List<List<Double>> generatePositions(List<Coordinates> gisVertices) {
 		final List<List<Double>> positions = new ArrayList<List<Double>>();
 
 		gisVertices.forEach((gisVertex) -> {
@@ -15,28 +15,14 @@ public class GeoJsonManager {
 	private final FeatureCollection featureCollection = new FeatureCollection();
 
 	public GeoJsonManager(Hexagon hexagon) {
-		Feature feature = new Feature(new PolygonGeometry(hexagon));
-
-		feature.addProperty("ccid", hexagon.getCCI());
-		feature.addProperty("centroid", hexagon.getCentroid());
-		feature.addProperty("circumradius", hexagon.getCircumradius());
-		feature.addProperty("inradius", hexagon.getInradius());
-
-		this.featureCollection.addFeature(feature);
+		this.featureCollection.addFeature(generateHexagonFeature(hexagon));
 	}
 
 	public GeoJsonManager(Neighbors neighbors) {
 		List<Hexagon> neighborsHexagons = neighbors.getGisHexagons();
 
 		for (Hexagon hexagon : neighborsHexagons) {
-			Feature feature = new Feature(new PolygonGeometry(hexagon));
-
-			feature.addProperty("ccid", hexagon.getCCI());
-			feature.addProperty("centroid", hexagon.getCentroid());
-			feature.addProperty("circumradius", hexagon.getCircumradius());
-			feature.addProperty("inradius", hexagon.getInradius());
-
-			this.featureCollection.addFeature(feature);
+			this.featureCollection.addFeature(generateHexagonFeature(hexagon));
 		};
 	}
 
@@ -44,15 +30,20 @@ public class GeoJsonManager {
 		final List<Hexagon> tessellationHexagons = tessellation.getGisHexagons();
 
 		for (Hexagon hexagon : tessellationHexagons) {
-			Feature feature = new Feature(new PolygonGeometry(hexagon));
+			this.featureCollection.addFeature(generateHexagonFeature(hexagon));
+		};
+	}
 
-			feature.addProperty("ccid", hexagon.getCCI());
-			feature.addProperty("centroid", hexagon.getCentroid());
-			feature.addProperty("circumradius", hexagon.getCircumradius());
-			feature.addProperty("inradius", hexagon.getInradius());
+	/* Hexagon -> Feature, with the hexagon's data as properties */
+	static final Feature generateHexagonFeature(Hexagon hexagon) {
+		Feature feature = new Feature(new PolygonGeometry(hexagon));
 
-			this.featureCollection.addFeature(feature);
-		};
+		feature.addProperty("ccid", hexagon.getCCI());
+		feature.addProperty("centroid", hexagon.getCentroid());
+		feature.addProperty("circumradius", hexagon.getCircumradius());
+		feature.addProperty("inradius", hexagon.getInradius());
+
+		return feature;
 	}
 
 	/* Utility methods */
@@ -0,0 +1,108 @@
+package com.geospatial.hexagongrid.geojson;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import com.geospatial.hexagongrid.hexagon.Coordinates;
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.tessellation.TessellationListener;
+import com.google.gson.Gson;
+
+import lombok.Getter;
+
+/*
+ * GeoJsonSeqWriter
+ *
+ * Writes hexagons as a stream of GeoJSON Features, one Feature per line, instead
+ * of a single FeatureCollection:
+ * 	- GeoJSON Text Sequences (RFC 8142): each Feature is prefixed by the
+ * record separator (0x1E) and followed by a line feed.
+ * 	- NDJSON (newline-delimited JSON): each Feature is followed by a line feed.
+ *
+ * Used as a TessellationListener, Features are written as soon as the
+ * tessellation generates them, and flushed to the client after each ring, so
+ * clients can start processing (and parse each line in parallel) before the
+ * tessellation is completed.
+ */
+public class GeoJsonSeqWriter implements TessellationListener {
+	public static final String CONTENT_TYPE_GEOJSON_SEQ = "application/geo+json-seq";
+	public static final String CONTENT_TYPE_NDJSON = "application/x-ndjson";
+
+	private static final char RECORD_SEPARATOR = 0x1E;
+	private static final char LINE_FEED = '\n';
+
+	private static final Gson gson = new Gson();
+
+	private final Writer writer;
+	private final boolean recordSeparator;
+
+	@Getter
+	private long totalFeatures = 0;
+
+	/* Constructors */
+	public GeoJsonSeqWriter(OutputStream outputStream, boolean recordSeparator) {
+		this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 1 << 16);
+		this.recordSeparator = recordSeparator;
+	}
+
+	/* Public methods */
+	public final void write(Hexagon hexagon) throws IOException {
+		writeFeature(GeoJsonManager.generateHexagonFeature(hexagon));
+	}
+
+	/* Feature of a polygon that is not a Hexagon object, e.g. read from a database */
+	public final void write(List<Coordinates> gisVertices, Map<String, Object> properties) throws IOException {
+		final Feature feature = new Feature(new PolygonGeometry(gisVertices));
+		for (Map.Entry<String, Object> property : properties.entrySet()) {
+			feature.addProperty(property.getKey(), property.getValue());
+		}
+
+		writeFeature(feature);
+	}
+
+	public final void flush() throws IOException {
+		writer.flush();
+	}
+
+	public final String getContentType() {
+		return recordSeparator ? CONTENT_TYPE_GEOJSON_SEQ : CONTENT_TYPE_NDJSON;
+	}
+
+	/* Internal methods */
+	private final void writeFeature(Feature feature) throws IOException {
+		if (recordSeparator) {
+			writer.write(RECORD_SEPARATOR);
+		}
+		gson.toJson(feature, writer);
+		writer.write(LINE_FEED);
+
+		totalFeatures++;
+	}
+
+	/* TessellationListener */
+	@Override
+	public void onHexagon(Hexagon hexagon) {
+		try {
+			write(hexagon);
+		} catch (IOException e) {
+			// Client disconnected, abort the tessellation
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void onRingCompleted(int completedRings, int requiredRings) {
+		try {
+			flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
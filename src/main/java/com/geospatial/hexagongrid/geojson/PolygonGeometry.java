@@ -1,5 +1,8 @@
 package com.geospatial.hexagongrid.geojson;
 
+import java.util.List;
+
+import com.geospatial.hexagongrid.hexagon.Coordinates;
 import com.geospatial.hexagongrid.hexagon.Hexagon;
 
 public class PolygonGeometry extends Geometry {
@@ -10,4 +13,9 @@ public class PolygonGeometry extends Geometry {
 		// this.hexagon = hexagon;
 		this.coordinates = GeoJsonCoordinates.generatePolygonCoordinates(hexagon);
 	}
+
+	public PolygonGeometry(List<Coordinates> gisVertices) {
+		super("Polygon");
+		this.coordinates = GeoJsonCoordinates.generatePolygonCoordinates(gisVertices);
+	}
 }
\ No newline at end of file
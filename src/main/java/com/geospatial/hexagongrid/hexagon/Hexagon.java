@@ -68,6 +68,23 @@ public class Hexagon implements Serializable {
 		this.CCI = new CubeCoordinatesIndex(previousCCI, position);
 	}
 
+	// Construct a new Hexagon in the NeighborPosition of the cell previousCCI, without the previous Hexagon
+	public Hexagon(CubeCoordinatesIndex previousCCI, Coordinates centroid, double circumradius, NeighborPosition position) {
+		this.centroid = centroid;
+		this.circumradius = circumradius;
+		this.inradius = circumradius * SQRT_3 / 2;
+		this.gisVertices = generateGisVertices(centroid);
+
+		if (position == null || position == NeighborPosition.ZERO) {
+			throw new IllegalArgumentException(
+					"Hexagon position argument cannot be null or ZERO, currently: " + position);
+		}
+
+		this.position = position;
+		this.previousCCI = previousCCI;
+		this.CCI = new CubeCoordinatesIndex(previousCCI, position);
+	}
+
 	/* Methods */
 	@Deprecated
 	private List<Coordinates> generateVertices(Coordinates centroid) {
@@ -0,0 +1,102 @@
+package com.geospatial.hexagongrid.hexagon;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * HexagonBatch
+ *
+ * Entries (latitude, longitude, radius) of a batch request, e.g.
+ * 	[{"latitude": 10.77, "longitude": 106.70, "radius": 250}, ...]
+ *
+ * The JSON array is read with a streaming JsonReader into primitive arrays,
+ * without building a JsonObject (or a HexagonDto) per entry, Hexagons are only
+ * created when they are processed (see getHexagon).
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public class HexagonBatch {
+	@Getter
+	@ToString.Include
+	private int size = 0;
+
+	private double[] latitudes = new double[64];
+	private double[] longitudes = new double[64];
+	private double[] circumradii = new double[64];
+
+	/* Constructors */
+	private HexagonBatch() {
+	}
+
+	/* Parse the JSON array of entries, at most maxSize entries */
+	public static HexagonBatch parse(Reader json, int maxSize) throws IOException {
+		final HexagonBatch batch = new HexagonBatch();
+		final JsonReader reader = new JsonReader(json);
+
+		reader.beginArray();
+		while (reader.hasNext()) {
+			if (batch.size == maxSize) {
+				throw new IllegalArgumentException("Too many entries, maximum: " + maxSize);
+			}
+			batch.add(reader);
+		}
+		reader.endArray();
+		if (reader.peek() != JsonToken.END_DOCUMENT) {
+			throw new IllegalArgumentException("Unexpected content after the array of entries.");
+		}
+
+		return batch;
+	}
+
+	/* Methods */
+	public final Hexagon getHexagon(int index) {
+		return new Hexagon(new Coordinates(longitudes[index], latitudes[index]), circumradii[index]);
+	}
+
+	/* Internal methods */
+	private final void add(JsonReader reader) throws IOException {
+		double latitude = Double.NaN, longitude = Double.NaN, circumradius = Double.NaN;
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "latitude":
+					latitude = reader.nextDouble();
+					break;
+				case "longitude":
+					longitude = reader.nextDouble();
+					break;
+				case "radius":
+					circumradius = reader.nextDouble();
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+
+		if (Double.isNaN(latitude) || Double.isNaN(longitude) || Double.isNaN(circumradius)) {
+			throw new IllegalArgumentException(
+					"Entry " + size + ": latitude, longitude and radius are required.");
+		}
+		if (circumradius <= 0) {
+			throw new IllegalArgumentException("Entry " + size + ": radius must be > 0, currently: " + circumradius);
+		}
+
+		if (size == latitudes.length) {
+			latitudes = Arrays.copyOf(latitudes, size * 2);
+			longitudes = Arrays.copyOf(longitudes, size * 2);
+			circumradii = Arrays.copyOf(circumradii, size * 2);
+		}
+		latitudes[size] = latitude;
+		longitudes[size] = longitude;
+		circumradii[size] = circumradius;
+		size++;
+	}
+}
@@ -0,0 +1,145 @@
+package com.geospatial.hexagongrid.index;
+
+import java.util.Arrays;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * CellIndex
+ *
+ * In-memory index of the cells of a grid, stored in primitive arrays (column by
+ * column) instead of Hexagon objects: CCI (q, r, s) and centroid of each cell,
+ * about 40 bytes per cell.
+ *
+ * Cells are looked up by their CCI with an open addressing hash table of the
+ * packed (q, r), s is always -q - r.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public class CellIndex {
+	private static final int EMPTY = -1;
+
+	@Getter
+	@ToString.Include
+	private final double circumradius;
+	@Getter
+	@ToString.Include
+	private int size = 0;
+
+	private int[] q, r, s;
+	private double[] longitudes, latitudes;
+
+	// Hash table: slot -> index of the cell, EMPTY if the slot is free
+	private int[] slots;
+	private int slotsMask;
+
+	public CellIndex(double circumradius, int expectedSize) {
+		final int capacity = Math.max(16, expectedSize);
+
+		this.circumradius = circumradius;
+		this.q = new int[capacity];
+		this.r = new int[capacity];
+		this.s = new int[capacity];
+		this.longitudes = new double[capacity];
+		this.latitudes = new double[capacity];
+		allocateSlots(capacity);
+	}
+
+	/* Methods */
+	public final void add(int q, int r, int s, double longitude, double latitude) {
+		if (size == this.q.length) {
+			grow();
+		}
+
+		this.q[size] = q;
+		this.r[size] = r;
+		this.s[size] = s;
+		this.longitudes[size] = longitude;
+		this.latitudes[size] = latitude;
+		insertSlot(size);
+		size++;
+	}
+
+	/* Index of the cell (q, r), or -1 if it is not in the index */
+	public final int indexOf(int q, int r) {
+		int slot = hash(q, r) & slotsMask;
+		while (slots[slot] != EMPTY) {
+			final int index = slots[slot];
+			if (this.q[index] == q && this.r[index] == r) {
+				return index;
+			}
+			slot = (slot + 1) & slotsMask;
+		}
+
+		return EMPTY;
+	}
+
+	public final boolean contains(int q, int r) {
+		return indexOf(q, r) != EMPTY;
+	}
+
+	public final int getQ(int index) {
+		return q[index];
+	}
+
+	public final int getR(int index) {
+		return r[index];
+	}
+
+	public final int getS(int index) {
+		return s[index];
+	}
+
+	public final double getLongitude(int index) {
+		return longitudes[index];
+	}
+
+	public final double getLatitude(int index) {
+		return latitudes[index];
+	}
+
+	/* Approximate memory used by the arrays */
+	public final long getMemoryBytes() {
+		return (long) q.length * (3 * Integer.BYTES + 2 * Double.BYTES) + (long) slots.length * Integer.BYTES;
+	}
+
+	/* Internal methods */
+	private final void grow() {
+		final int capacity = q.length * 2;
+
+		q = Arrays.copyOf(q, capacity);
+		r = Arrays.copyOf(r, capacity);
+		s = Arrays.copyOf(s, capacity);
+		longitudes = Arrays.copyOf(longitudes, capacity);
+		latitudes = Arrays.copyOf(latitudes, capacity);
+
+		allocateSlots(capacity);
+		for (int i = 0; i < size; i++) {
+			insertSlot(i);
+		}
+	}
+
+	// Load factor <= 0.5
+	private final void allocateSlots(int capacity) {
+		final int slotsCount = Integer.highestOneBit(capacity - 1) << 2;
+		slots = new int[slotsCount];
+		Arrays.fill(slots, EMPTY);
+		slotsMask = slotsCount - 1;
+	}
+
+	private final void insertSlot(int index) {
+		int slot = hash(q[index], r[index]) & slotsMask;
+		while (slots[slot] != EMPTY) {
+			slot = (slot + 1) & slotsMask;
+		}
+		slots[slot] = index;
+	}
+
+	private static int hash(int q, int r) {
+		// Mix the packed (q, r) (splitmix64 finalizer), neighbors must not collide
+		long key = ((long) q << 32) | (r & 0xFFFFFFFFL);
+		key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+		key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+		return (int) (key ^ (key >>> 31));
+	}
+}
@@ -17,6 +17,17 @@ public class CubeCoordinatesIndex implements Serializable {
 	private final int r;
 	private final int s;
 	
+	public CubeCoordinatesIndex(int q, int r, int s) {
+		if (q + r + s != 0) {
+			throw new IllegalArgumentException(String.format(
+					"q + r + s must equals 0, currently: (%s, %s, %s)", q, r, s));
+		}
+
+		this.q = q;
+		this.r = r;
+		this.s = s;
+	}
+
 	public CubeCoordinatesIndex(CubeCoordinatesIndex previousCCI, NeighborPosition position) {
 		/*
 		 * Flat-top orientation of Hexagon, order from left-right
@@ -81,4 +92,26 @@ public class CubeCoordinatesIndex implements Serializable {
 				throw new InvalidParameterException("Invalid NeighborPosition: " + position);
 		}
 	}
+
+	/*
+	 * Cell id: the CCI packed in a single long, q in the high 32 bits and r in the
+	 * low 32 bits (s = -q - r is not stored), e.g. a bigint key in PostgreSQL:
+	 * 	q = cell_id >> 32
+	 * 	r = (cell_id << 32) >> 32
+	 */
+	public final long getCellId() {
+		return toCellId(q, r);
+	}
+
+	public static long toCellId(int q, int r) {
+		return ((long) q << 32) | (r & 0xFFFFFFFFL);
+	}
+
+	public static int cellIdToQ(long cellId) {
+		return (int) (cellId >> 32);
+	}
+
+	public static int cellIdToR(long cellId) {
+		return (int) cellId;
+	}
 }
@@ -0,0 +1,100 @@
+package com.geospatial.hexagongrid.index;
+
+/*
+ * HilbertCurve
+ *
+ * Maps a point (x, y) on a 2^16 x 2^16 grid to its distance along a Hilbert
+ * space-filling curve. Points that are close on the curve are also close in 2D,
+ * which makes the distance a good sort key for spatial clustering.
+ *
+ * This is the "Fast Hilbert curve" algorithm by rawrunprotected (public domain):
+ * - http://threadlocalmutex.com/?p=126
+ *
+ * It is the same function used by FlatGeobuf to order features of its packed
+ * Hilbert R-tree, so the output of hilbert() is compatible with that spec.
+ */
+public final class HilbertCurve {
+	// Largest coordinate value on each axis of the curve (16 bits)
+	public static final int MAX = (1 << 16) - 1;
+
+	private HilbertCurve() {
+	}
+
+	/*
+	 * x, y must be in range [0, MAX], the result is an unsigned 32 bits integer
+	 * (returned as long so that it can be compared without sign issues).
+	 */
+	public static long hilbert(int x, int y) {
+		if (x < 0 || x > MAX || y < 0 || y > MAX) {
+			throw new IllegalArgumentException(
+					String.format("x, y must be in range [0, %s], currently: x=%s, y=%s", MAX, x, y));
+		}
+
+		int a = x ^ y;
+		int b = 0xFFFF ^ a;
+		int c = 0xFFFF ^ (x | y);
+		int d = x & (y ^ 0xFFFF);
+
+		int A = a | (b >> 1);
+		int B = (a >> 1) ^ a;
+		int C = ((c >> 1) ^ (b & (d >> 1))) ^ c;
+		int D = ((a & (c >> 1)) ^ (d >> 1)) ^ d;
+
+		a = A;
+		b = B;
+		c = C;
+		d = D;
+		A = ((a & (a >> 2)) ^ (b & (b >> 2)));
+		B = ((a & (b >> 2)) ^ (b & ((a ^ b) >> 2)));
+		C ^= ((a & (c >> 2)) ^ (b & (d >> 2)));
+		D ^= ((b & (c >> 2)) ^ ((a ^ b) & (d >> 2)));
+
+		a = A;
+		b = B;
+		c = C;
+		d = D;
+		A = ((a & (a >> 4)) ^ (b & (b >> 4)));
+		B = ((a & (b >> 4)) ^ (b & ((a ^ b) >> 4)));
+		C ^= ((a & (c >> 4)) ^ (b & (d >> 4)));
+		D ^= ((b & (c >> 4)) ^ ((a ^ b) & (d >> 4)));
+
+		a = A;
+		b = B;
+		c = C;
+		d = D;
+		C ^= ((a & (c >> 8)) ^ (b & (d >> 8)));
+		D ^= ((b & (c >> 8)) ^ ((a ^ b) & (d >> 8)));
+
+		a = C ^ (C >> 1);
+		b = D ^ (D >> 1);
+
+		int i0 = x ^ y;
+		int i1 = b | (0xFFFF ^ (i0 | a));
+
+		// Interleave the bits of i0 and i1
+		i0 = spreadBits(i0);
+		i1 = spreadBits(i1);
+
+		return (((long) i1 << 1) | i0) & 0xFFFFFFFFL;
+	}
+
+	/*
+	 * Scale a point inside an extent (minX, minY, width, height) to the
+	 * [0, MAX] grid before computing its Hilbert distance.
+	 */
+	public static long hilbert(double x, double y, double minX, double minY, double width, double height) {
+		final int hilbertX = width == 0 ? 0 : (int) Math.floor(MAX * (x - minX) / width);
+		final int hilbertY = height == 0 ? 0 : (int) Math.floor(MAX * (y - minY) / height);
+
+		return hilbert(hilbertX, hilbertY);
+	}
+
+	/* Internal methods */
+	private static int spreadBits(int value) {
+		value = (value | (value << 8)) & 0x00FF00FF;
+		value = (value | (value << 4)) & 0x0F0F0F0F;
+		value = (value | (value << 2)) & 0x33333333;
+		value = (value | (value << 1)) & 0x55555555;
+		return value;
+	}
+}
@@ -0,0 +1,124 @@
+package com.geospatial.hexagongrid.index;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/*
+ * RadixSort
+ *
+ * Parallel LSD (least significant digit first) radix sort of non-negative longs,
+ * e.g. sort keys packed as (Hilbert value << 31 | index).
+ *
+ * Each pass sorts the keys by one 8 bits digit, from the lowest to the highest:
+ * 	1. the array is split into one block per thread, each thread counts the
+ * digits of its block (histogram)
+ * 	2. the histograms are turned into the start position of each (digit, block)
+ * in the output, so that blocks keep their relative order (stable)
+ * 	3. each thread scatters its block into the output
+ *
+ * Passes where all keys have the same digit are skipped, so small keys only
+ * take as many passes as they have significant bytes.
+ */
+public final class RadixSort {
+	private static final int DIGIT_BITS = 8;
+	private static final int RADIX = 1 << DIGIT_BITS;
+	private static final int PASSES = Long.SIZE / DIGIT_BITS;
+
+	// Below this size, Arrays.sort is faster than the radix passes
+	private static final int MIN_RADIX_SORT_SIZE = 1 << 12;
+	// Minimum keys per block, to amortize the histograms
+	private static final int MIN_BLOCK_SIZE = 1 << 15;
+
+	private RadixSort() {
+	}
+
+	public static void parallelSort(long[] keys) {
+		parallelSort(keys, Runtime.getRuntime().availableProcessors());
+	}
+
+	public static void parallelSort(long[] keys, int parallelism) {
+		final int size = keys.length;
+		if (size < MIN_RADIX_SORT_SIZE) {
+			Arrays.sort(keys);
+			return;
+		}
+		for (long key : keys) {
+			if (key < 0) {
+				throw new IllegalArgumentException("Keys must be >= 0, currently: " + key);
+			}
+		}
+
+		final int blocks = Math.max(1, Math.min(parallelism, size / MIN_BLOCK_SIZE));
+		final int[] blockStarts = new int[blocks + 1];
+		for (int block = 0; block <= blocks; block++) {
+			blockStarts[block] = (int) ((long) size * block / blocks);
+		}
+
+		long[] source = keys;
+		long[] target = new long[size];
+		final int[][] histograms = new int[blocks][RADIX];
+
+		for (int pass = 0; pass < PASSES; pass++) {
+			final int shift = pass * DIGIT_BITS;
+			final long[] passSource = source;
+			final long[] passTarget = target;
+
+			/* 1. Histograms */
+			IntStream.range(0, blocks).parallel().forEach(block -> {
+				final int[] histogram = histograms[block];
+				Arrays.fill(histogram, 0);
+				for (int i = blockStarts[block]; i < blockStarts[block + 1]; i++) {
+					histogram[(int) (passSource[i] >>> shift) & (RADIX - 1)]++;
+				}
+			});
+
+			// Skip the pass if all keys have the same digit
+			if (isSingleDigit(histograms, size)) {
+				continue;
+			}
+
+			/* 2. Start positions: by digit, then by block */
+			int position = 0;
+			for (int digit = 0; digit < RADIX; digit++) {
+				for (int block = 0; block < blocks; block++) {
+					final int count = histograms[block][digit];
+					histograms[block][digit] = position;
+					position += count;
+				}
+			}
+
+			/* 3. Scatter */
+			IntStream.range(0, blocks).parallel().forEach(block -> {
+				final int[] positions = histograms[block];
+				for (int i = blockStarts[block]; i < blockStarts[block + 1]; i++) {
+					final long key = passSource[i];
+					passTarget[positions[(int) (key >>> shift) & (RADIX - 1)]++] = key;
+				}
+			});
+
+			source = passTarget;
+			target = passSource;
+		}
+
+		// After an odd number of passes, the sorted keys are in the temporary array
+		if (source != keys) {
+			System.arraycopy(source, 0, keys, 0, size);
+		}
+	}
+
+	/* Internal methods */
+	private static boolean isSingleDigit(int[][] histograms, int size) {
+		for (int digit = 0; digit < RADIX; digit++) {
+			int count = 0;
+			for (int[] histogram : histograms) {
+				count += histogram[digit];
+			}
+
+			if (count != 0) {
+				return count == size;
+			}
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,202 @@
+package com.geospatial.hexagongrid.jobs;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.tessellation.TessellationListener;
+import com.google.gson.JsonObject;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * TessellationJob
+ *
+ * State of a tessellation running in the background (see TessellationJobs). As
+ * the progress listener of the tessellation, the job counts the hexagons and
+ * rings generated so far, and keeps the hexagons of each completed ring (if
+ * retainHexagons), so clients can poll its progress and read partial results
+ * while it is running. The hexagons are released once the job is finished (they
+ * are in its table), only its status and result are retained.
+ *
+ * onHexagon & onRingCompleted are called by the job's thread only, the other
+ * fields are read by the request threads.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public class TessellationJob implements TessellationListener {
+	public enum State {
+		QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED
+	}
+
+	@Getter
+	@ToString.Include
+	private final String id;
+	@Getter
+	@ToString.Include
+	private volatile State state = State.QUEUED;
+	@Getter
+	private final boolean retainHexagons;
+
+	/* Progress */
+	private volatile int completedRings = 0;
+	private volatile int requiredRings = 0;
+	private volatile long totalHexagons = 0;
+
+	/* Hexagons of the completed rings, each ring is published once completed */
+	private final List<List<Hexagon>> rings = new CopyOnWriteArrayList<List<Hexagon>>();
+	private List<Hexagon> currentRing = new ArrayList<Hexagon>();
+
+	private final Instant submittedAt = Instant.now();
+	private volatile Instant startedAt;
+	private volatile Instant finishedAt;
+	private volatile boolean cancelRequested = false;
+	private volatile boolean cancellable = true;
+	private volatile JsonObject result;
+	private volatile String error;
+
+	// Queued task, then thread running the job (null once finished)
+	private volatile Runnable task;
+	private Thread thread;
+
+	TessellationJob(String id, boolean retainHexagons) {
+		this.id = id;
+		this.retainHexagons = retainHexagons;
+	}
+
+	/* TessellationListener */
+	@Override
+	public void onHexagon(Hexagon hexagon) {
+		totalHexagons++;
+		if (retainHexagons) {
+			currentRing.add(hexagon);
+		}
+	}
+
+	@Override
+	public void onRingCompleted(int completedRings, int requiredRings) {
+		if (retainHexagons) {
+			rings.add(Collections.unmodifiableList(currentRing));
+			currentRing = new ArrayList<Hexagon>();
+		}
+
+		this.requiredRings = requiredRings;
+		this.completedRings = completedRings;
+	}
+
+	/* Methods */
+	public final boolean isFinished() {
+		return state == State.SUCCEEDED || state == State.FAILED || state == State.CANCELLED;
+	}
+
+	/* Hexagons of the rings completed so far, an immutable snapshot */
+	public final List<List<Hexagon>> getCompletedRings() {
+		return List.copyOf(rings);
+	}
+
+	public final JsonObject toJson() {
+		final JsonObject status = new JsonObject();
+		status.addProperty("jobId", id);
+		status.addProperty("state", state.name());
+		if (cancelRequested && !isFinished()) {
+			status.addProperty("cancelRequested", true);
+		}
+		if (!cancellable && !isFinished()) {
+			status.addProperty("cancellable", false);
+		}
+
+		final JsonObject progress = new JsonObject();
+		progress.addProperty("completedRings", completedRings);
+		progress.addProperty("requiredRings", requiredRings);
+		progress.addProperty("ratio", requiredRings == 0 ? 0 : (double) completedRings / requiredRings);
+		progress.addProperty("totalHexagons", totalHexagons);
+		status.add("progress", progress);
+
+		status.addProperty("submittedAt", submittedAt.toString());
+		if (startedAt != null) {
+			status.addProperty("startedAt", startedAt.toString());
+			final Instant until = finishedAt == null ? Instant.now() : finishedAt;
+			status.addProperty("elapsedSeconds", (until.toEpochMilli() - startedAt.toEpochMilli()) / 1000.0);
+		}
+		if (finishedAt != null) {
+			status.addProperty("finishedAt", finishedAt.toString());
+		}
+
+		if (result != null) {
+			status.add("result", result);
+		}
+		if (error != null) {
+			status.addProperty("error", error);
+		}
+
+		return status;
+	}
+
+	/*
+	 * From now on the job cannot be cancelled, e.g. its load commits as it goes and
+	 * cannot be rolled back: cancel returns false instead of interrupting it. Returns
+	 * false if a cancellation was already requested.
+	 */
+	public final synchronized boolean disableCancel() {
+		if (cancelRequested) {
+			return false;
+		}
+
+		cancellable = false;
+		return true;
+	}
+
+	/* Internal methods, see TessellationJobs */
+	final void setTask(Runnable task) {
+		this.task = task;
+	}
+
+	final Runnable getTask() {
+		return task;
+	}
+
+	final synchronized void setThread(Thread thread) {
+		this.thread = thread;
+	}
+
+	/* Interrupt the job's thread, if it is running */
+	final synchronized void interrupt() {
+		if (thread != null) {
+			thread.interrupt();
+		}
+	}
+
+	final Instant getFinishedAt() {
+		return finishedAt;
+	}
+
+	/* Returns false if the job can no longer be cancelled, see disableCancel */
+	final synchronized boolean requestCancel() {
+		if (!cancellable) {
+			return false;
+		}
+
+		cancelRequested = true;
+		return true;
+	}
+
+	final boolean isCancelRequested() {
+		return cancelRequested;
+	}
+
+	final void started() {
+		startedAt = Instant.now();
+		state = State.RUNNING;
+	}
+
+	final void finished(State finalState, JsonObject result, String error) {
+		rings.clear();
+		this.result = result;
+		this.error = error;
+		this.finishedAt = Instant.now();
+		this.state = finalState;
+	}
+}
@@ -0,0 +1,147 @@
+package com.geospatial.hexagongrid.jobs;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.gson.JsonObject;
+
+/*
+ * TessellationJobs
+ *
+ * Runs tessellations in the background, so requests return a job id right away
+ * instead of holding a server thread (and the client) for minutes.
+ *
+ * Jobs run on a bounded executor: at most maxRunningJobs at a time, and at most
+ * maxQueuedJobs waiting, further submissions are rejected. Finished jobs are kept
+ * for RETENTION so clients can read their results, then removed (on the next
+ * submit, get or getMetrics).
+ *
+ * Cancellation is cooperative: a queued job is removed from the queue, a running
+ * job's thread is interrupted and stops at the next ring of its tessellation
+ * (see CornerEdgeTessellation.tessellate). A job can disable its cancellation
+ * for a step that cannot be rolled back (see TessellationJob.disableCancel).
+ */
+public class TessellationJobs {
+	private static final Duration RETENTION = Duration.ofMinutes(30);
+
+	private final ThreadPoolExecutor executor;
+	private final Map<String, TessellationJob> jobs = new ConcurrentHashMap<String, TessellationJob>();
+
+	/* Work of a job, reports its progress to the job (its TessellationListener) */
+	@FunctionalInterface
+	public interface Task {
+		JsonObject run(TessellationJob job) throws Exception;
+	}
+
+	public TessellationJobs(int maxRunningJobs, int maxQueuedJobs) {
+		final AtomicInteger threads = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(maxRunningJobs, maxRunningJobs, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(maxQueuedJobs), runnable -> {
+					final Thread thread = new Thread(runnable, "tessellation-job-" + threads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/* Methods */
+	public final TessellationJob submit(Task task, boolean retainHexagons) throws RejectedExecutionException {
+		removeExpiredJobs();
+
+		final TessellationJob job = new TessellationJob(UUID.randomUUID().toString(), retainHexagons);
+		job.setTask(() -> run(job, task));
+		executor.execute(job.getTask());
+		jobs.put(job.getId(), job);
+
+		return job;
+	}
+
+	public final TessellationJob get(String jobId) {
+		removeExpiredJobs();
+
+		return jobs.get(jobId);
+	}
+
+	/* Returns false if the job is already finished, or can no longer be cancelled */
+	public final boolean cancel(TessellationJob job) {
+		if (job.isFinished() || !job.requestCancel()) {
+			return false;
+		}
+
+		if (executor.remove(job.getTask())) {
+			// Never started
+			job.finished(TessellationJob.State.CANCELLED, null, "Cancelled before it started.");
+		} else {
+			// Stops at its next cancellation check (if not started yet, as soon as it starts)
+			job.interrupt();
+		}
+
+		return true;
+	}
+
+	public final JsonObject getMetrics() {
+		removeExpiredJobs();
+
+		final JsonObject metrics = new JsonObject();
+		metrics.addProperty("maxRunning", executor.getMaximumPoolSize());
+		metrics.addProperty("running", executor.getActiveCount());
+		metrics.addProperty("queued", executor.getQueue().size());
+		metrics.addProperty("maxQueued", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+		metrics.addProperty("retained", jobs.size());
+
+		return metrics;
+	}
+
+	/* Internal methods */
+	private static void run(TessellationJob job, Task task) {
+		// Set the thread before checking for cancellation, see cancel
+		job.setThread(Thread.currentThread());
+		if (job.isCancelRequested()) {
+			job.setThread(null);
+			job.finished(TessellationJob.State.CANCELLED, null, "Cancelled before it started.");
+			return;
+		}
+
+		job.started();
+		try {
+			final JsonObject result = task.run(job);
+			if (job.isCancelRequested()) {
+				// Stopped by a cancellation check of a loader, or completed before the next check
+				job.finished(TessellationJob.State.CANCELLED, result, "Cancelled.");
+			} else if (result != null && result.has("error")) {
+				// Failures are reported in the result, as in synchronous responses
+				job.finished(TessellationJob.State.FAILED, result, result.get("error").getAsString());
+			} else {
+				job.finished(TessellationJob.State.SUCCEEDED, result, null);
+			}
+		} catch (CancellationException | InterruptedException e) {
+			job.finished(TessellationJob.State.CANCELLED, null, e.getMessage());
+		} catch (Exception e) {
+			job.finished(job.isCancelRequested() ? TessellationJob.State.CANCELLED : TessellationJob.State.FAILED,
+					null, e.toString());
+		} finally {
+			if (!job.isFinished()) {
+				// Error (e.g. OutOfMemoryError), rethrown to the pool thread
+				job.finished(TessellationJob.State.FAILED, null, "Job aborted by an unexpected error.");
+			}
+
+			// The pool thread runs other jobs, clear a late interrupt
+			job.setThread(null);
+			Thread.interrupted();
+		}
+	}
+
+	private final void removeExpiredJobs() {
+		final Instant expiry = Instant.now().minus(RETENTION);
+		jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(expiry));
+	}
+}
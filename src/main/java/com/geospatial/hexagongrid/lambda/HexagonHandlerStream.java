@@ -41,8 +41,6 @@ public class HexagonHandlerStream implements RequestStreamHandler {
 			Type stringObjectMap = new TypeToken<Map<String, Object>>() {
 			}.getType();
 			Map<String, Object> event = gson.fromJson(reader, stringObjectMap);
-			logger.log("STREAM TYPE: " + inputStream.getClass().toString());
-			logger.log("EVENT TYPE: " + event.getClass().toString());
 
 			// Generate DTO from event Map
 			HexagonDto dto = new HexagonDto(event);
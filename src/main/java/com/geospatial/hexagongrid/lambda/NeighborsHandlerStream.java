@@ -40,8 +40,6 @@ public class NeighborsHandlerStream implements RequestStreamHandler {
 			Type stringObjectMap = new TypeToken<Map<String, Object>>() {
 			}.getType();
 			Map<String, Object> event = gson.fromJson(reader, stringObjectMap);
-			logger.log("STREAM TYPE: " + inputStream.getClass().toString());
-			logger.log("EVENT TYPE: " + event.getClass().toString());
 
 			// Generate DTO from event Map
 			NeighborsDto dto = new NeighborsDto(event);
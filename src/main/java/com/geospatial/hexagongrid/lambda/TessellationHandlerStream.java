@@ -0,0 +1,92 @@
+package com.geospatial.hexagongrid.lambda;
+
+import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.geospatial.hexagongrid.geojson.FeatureCollectionWriter;
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.hexagon.HexagonDto;
+import com.geospatial.hexagongrid.tessellation.Boundary;
+import com.geospatial.hexagongrid.tessellation.CornerEdgeTessellation;
+import com.geospatial.hexagongrid.tessellation.CornerEdgeTessellationDto;
+
+/*
+ * TessellationHandlerStream
+ *
+ * Tessellation as a Lambda function, with the same payload as /api/tessellation
+ * (latitude, longitude, radius, boundary), either in the "body" of the event
+ * (API Gateway) or at the top level of the event (direct invocation).
+ *
+ * The event is read with a streaming JsonReader, keys other than the body and
+ * the payload keys (headers, requestContext...) are skipped without being
+ * parsed. The GeoJSON FeatureCollection is written to the output stream while
+ * the tessellation generates it (see FeatureCollectionWriter), so memory does
+ * not grow with the number of hexagons.
+ */
+public class TessellationHandlerStream implements RequestStreamHandler {
+	private static final Set<String> PAYLOAD_KEYS = Set.of("latitude", "longitude", "radius", "boundary");
+
+	private static final Gson gson = new Gson();
+
+	@Override
+	public void handleRequest(InputStream inputStream, OutputStream outputStream, Context context)
+			throws IOException {
+		final LambdaLogger logger = context.getLogger();
+
+		// Parse the payload before writing anything, so errors are not written after features
+		final Hexagon rootHexagon;
+		final Boundary boundary;
+		try (JsonReader reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+			final JsonObject payload = readPayload(reader);
+			rootHexagon = new HexagonDto(payload).getHexagon();
+			boundary = CornerEdgeTessellationDto.parseBoundary(payload);
+		} catch (RuntimeException | MalformedJsonException exception) {
+			// Any invalid payload, e.g. "radius": "abc" (NumberFormatException) or "latitude": {}
+			logger.log(exception.toString());
+
+			try (Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+				writer.write(gson.toJson("Invalid JSON data provided: " + exception));
+			}
+			return;
+		}
+
+		try (FeatureCollectionWriter writer = new FeatureCollectionWriter(outputStream)) {
+			new CornerEdgeTessellation(rootHexagon).tessellate(boundary, writer);
+		}
+	}
+
+	/* Payload of the event: its "body" (a JSON string), or its top-level payload keys */
+	private static JsonObject readPayload(JsonReader reader) throws IOException {
+		JsonObject payload = new JsonObject();
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			final String name = reader.nextName();
+			if (name.equals("body")) {
+				payload = gson.fromJson(reader.nextString(), JsonObject.class);
+			} else if (PAYLOAD_KEYS.contains(name)) {
+				payload.add(name, gson.fromJson(reader, JsonElement.class));
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+
+		return payload;
+	}
+}
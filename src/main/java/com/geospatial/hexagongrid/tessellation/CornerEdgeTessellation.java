@@ -2,10 +2,15 @@ package com.geospatial.hexagongrid.tessellation;
 
 import java.lang.Math;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import com.geospatial.hexagongrid.geodesy.Harversine;
+import com.geospatial.hexagongrid.geodesy.SphericalMercatorProjection;
 import com.geospatial.hexagongrid.hexagon.Coordinates;
 import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.index.CubeCoordinatesIndex;
+import com.geospatial.hexagongrid.index.HilbertCurve;
+import com.geospatial.hexagongrid.index.RadixSort;
 import com.geospatial.hexagongrid.neighbors.NeighborPosition;
 import com.geospatial.hexagongrid.neighbors.Neighbors;
 
@@ -13,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 
 import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 
 /**
@@ -104,10 +110,31 @@ public class CornerEdgeTessellation {
 	/* Updaters */
 	@Getter
 	private int totalRings = 0; 	// keep track of hexagon rings generated
-	// Internal
+	@Getter
 	private int requiredRings = 0; 	// maximum layers of hexagons in a ring required to tessellate
+	// Internal
 	private int currentRing = 0; 	// the current/latest tessellation ring created
 
+	/* Receives generated hexagons, see tessellate(boundary, listener) */
+	@ToString.Exclude
+	private TessellationListener listener;
+	/* Also notified of every hexagon & ring, e.g. progress of an asynchronous job */
+	@Setter
+	@ToString.Exclude
+	private TessellationListener progressListener;
+
+	/* Corners of a ring and direction of their Edge Hexagons, see tessellatePage */
+	private static final NeighborPosition[] RING_CORNER_POSITIONS = {
+		NeighborPosition.ONE, NeighborPosition.TWO, NeighborPosition.THREE,
+		NeighborPosition.FOUR, NeighborPosition.FIVE, NeighborPosition.SIX
+	};
+	private static final NeighborPosition[] RING_EDGE_POSITIONS = {
+		NeighborPosition.THREE, NeighborPosition.FOUR, NeighborPosition.FIVE,
+		NeighborPosition.SIX, NeighborPosition.ONE, NeighborPosition.TWO
+	};
+	private static final CubeCoordinatesIndex ORIGIN_CCI = new CubeCoordinatesIndex(0, 0, 0);
+	private static final double COS_30_DEG = Math.cos(Math.toRadians(30));
+
 	/* Basic stats here */
 	@Getter
 	private int totalHexagons = 0;
@@ -130,8 +157,75 @@ public class CornerEdgeTessellation {
 	 * AxialClockwiseTessellation before tessellate.
 	 */
 	public final void tessellate(Boundary boundary) {
-		// Set boundary to instance
+		tessellate(boundary, this.gisHexagons::add);
+	}
+
+	/*
+	 * Hilbert order
+	 * 
+	 * Hexagons are generated ring by ring, so hexagons that are next to each other
+	 * in space can be far apart in gisHexagons (e.g. the first and last hexagon of
+	 * a ring). Sorting them along a Hilbert curve over their CCI (q, r) keeps
+	 * nearby hexagons together, e.g. in the same database pages, in the same
+	 * nodes of an index, or in the same blocks of a compressed file.
+	 */
+	public final void sortByHilbertCurve() {
+		final int size = this.gisHexagons.size();
+		if (size < 2) {
+			return;
+		}
+
+		int minQ = Integer.MAX_VALUE, minR = Integer.MAX_VALUE;
+		int maxQ = Integer.MIN_VALUE, maxR = Integer.MIN_VALUE;
+		for (Hexagon gisHexagon : this.gisHexagons) {
+			final CubeCoordinatesIndex cci = gisHexagon.getCCI();
+			minQ = Math.min(minQ, cci.getQ());
+			minR = Math.min(minR, cci.getR());
+			maxQ = Math.max(maxQ, cci.getQ());
+			maxR = Math.max(maxR, cci.getR());
+		}
+
+		// Pack (32 bits hilbertValue, 31 bits index) to sort primitives instead of objects
+		final long[] sortKeys = new long[size];
+		for (int i = 0; i < size; i++) {
+			final CubeCoordinatesIndex cci = this.gisHexagons.get(i).getCCI();
+			final long hilbertValue = HilbertCurve.hilbert(cci.getQ(), cci.getR(), minQ, minR, maxQ - minQ, maxR - minR);
+			sortKeys[i] = (hilbertValue << 31) | i;
+		}
+		RadixSort.parallelSort(sortKeys);
+
+		final Hexagon[] sortedGisHexagons = new Hexagon[size];
+		for (int i = 0; i < size; i++) {
+			sortedGisHexagons[i] = this.gisHexagons.get((int) (sortKeys[i] & Integer.MAX_VALUE));
+		}
+		for (int i = 0; i < size; i++) {
+			this.gisHexagons.set(i, sortedGisHexagons[i]);
+		}
+	}
+
+	/*
+	 * Streaming tessellation
+	 * 
+	 * Hexagons are passed to the listener as soon as they are generated, instead of
+	 * being stored in gisHexagons (which stays empty). Only the Corner Hexagons are
+	 * kept in memory, so the memory does not grow with the total amount of hexagons.
+	 */
+	public final void tessellate(Boundary boundary, TessellationListener listener) {
+		// Set boundary & listener to instance
 		this.boundary = boundary;
+		this.listener = progressListener == null ? listener : new TessellationListener() {
+			@Override
+			public void onHexagon(Hexagon hexagon) {
+				listener.onHexagon(hexagon);
+				progressListener.onHexagon(hexagon);
+			}
+
+			@Override
+			public void onRingCompleted(int completedRings, int requiredRings) {
+				listener.onRingCompleted(completedRings, requiredRings);
+				progressListener.onRingCompleted(completedRings, requiredRings);
+			}
+		};
 
 		/*
 		 * Clear all tessellation data (in case already generated):
@@ -150,6 +244,12 @@ public class CornerEdgeTessellation {
 
 		/* Populate hexagons */
 		while (this.currentRing < this.requiredRings) {
+			// Cooperative cancellation, e.g. an asynchronous job cancelled with Future.cancel(true)
+			if (Thread.currentThread().isInterrupted()) {
+				throw new CancellationException(String.format(
+						"Tessellation cancelled at ring %s/%s", this.currentRing, this.requiredRings));
+			}
+
 			// GIS Hexagons
 			populateGisHexagons(this.currentRing);
 
@@ -159,19 +259,7 @@ public class CornerEdgeTessellation {
 			// Update rings
 			this.currentRing++;
 			this.totalRings++;
-		}
-
-		/* Calculate results */
-		if (this.hexagons.isEmpty()) {
-			this.totalHexagons = this.gisHexagons.size();
-		} else if (this.gisHexagons.isEmpty()) {
-			this.totalHexagons = this.hexagons.size();
-		} else {
-			final int hexSize = this.hexagons.size();
-			final int gisHexSize = this.gisHexagons.size();
-
-			assert hexSize == gisHexSize;
-			this.totalHexagons = (hexSize + gisHexSize) / 2;
+			this.listener.onRingCompleted(this.totalRings, this.requiredRings);
 		}
 
 		/* Print tessellation results */
@@ -223,6 +311,93 @@ public class CornerEdgeTessellation {
 		}
 	}
 
+	/*
+	 * Paginated tessellation
+	 * 
+	 * Generates only the pageSize hexagons (in ring order) that start at the
+	 * cursor, into gisHexagons, and returns the cursor of the next page (null after
+	 * the last page).
+	 * 
+	 * The hexagons of a ring have a closed form, so page k is generated directly,
+	 * without generating the previous pages:
+	 * 	- the hexagon at offset i of ring n is on the side i / n of the ring: the
+	 * Corner Hexagon n * CORNER (offset i % n == 0) followed by Edge Hexagons, each
+	 * one step further in the EDGE direction of that corner.
+	 * 	- each step of a neighbor moves the GIS centroid by constant degrees
+	 * (see Neighbors.generateNeighborGisHexagon), so the centroid of cell (q, r) is
+	 * the root centroid + q steps in longitude and (q + 2r) half steps in latitude.
+	 * 
+	 * Centroids are computed in one step instead of being accumulated ring after
+	 * ring, so they can differ from tessellate(boundary) in the last digits.
+	 */
+	public final TessellationCursor tessellatePage(Boundary boundary, TessellationCursor cursor, int pageSize) {
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("pageSize must be > 0, currently: " + pageSize);
+		}
+
+		this.boundary = boundary;
+		this.listener = this.gisHexagons::add;
+		this.clearCornerHexagons();
+		this.clearHexagons();
+		this.clearCentroids();
+		this.resetRings();
+		this.requiredRings = calculateRequiredRings(boundary);
+		if (cursor.getRing() >= this.requiredRings) {
+			throw new IllegalArgumentException(String.format(
+					"Cursor ring %s is out of the tessellation (%s rings)", cursor.getRing(), this.requiredRings));
+		}
+
+		int ring = cursor.getRing();
+		int offset = cursor.getOffset();
+		for (int i = 0; i < pageSize && ring < this.requiredRings; i++) {
+			emitGisHexagon(generateRingGisHexagon(ring, offset));
+
+			offset++;
+			if (offset == TessellationCursor.ringSize(ring)) {
+				ring++;
+				offset = 0;
+			}
+		}
+
+		return ring < this.requiredRings ? new TessellationCursor(ring, offset) : null;
+	}
+
+	/* GIS hexagon at the offset of the ring, see tessellatePage */
+	private final Hexagon generateRingGisHexagon(int ring, int offset) {
+		if (ring == 0) {
+			return this.rootHexagon;
+		}
+
+		final int side = offset / ring;
+		final int edgeSteps = offset % ring;
+		final NeighborPosition corner = RING_CORNER_POSITIONS[side];
+		final NeighborPosition edge = RING_EDGE_POSITIONS[side];
+		final NeighborPosition position = edgeSteps == 0 ? corner : edge;
+
+		final int q = ring * positionQ(corner) + edgeSteps * positionQ(edge);
+		final int r = ring * positionR(corner) + edgeSteps * positionR(edge);
+		final int previousQ = q - positionQ(position);
+		final int previousR = r - positionR(position);
+
+		final Coordinates rootCentroid = this.rootHexagon.getCentroid();
+		final double longitudeStep = SphericalMercatorProjection.xToLongitude(this.inradius) * 2 * COS_30_DEG;
+		final double latitudeStep = SphericalMercatorProjection.yToLatitude(this.inradius);
+		final Coordinates centroid = new Coordinates(
+				rootCentroid.getLongitude() + q * longitudeStep,
+				rootCentroid.getLatitude() + (q + 2 * r) * latitudeStep);
+
+		return new Hexagon(new CubeCoordinatesIndex(previousQ, previousR, -previousQ - previousR),
+				centroid, this.circumradius, position);
+	}
+
+	private static int positionQ(NeighborPosition position) {
+		return new CubeCoordinatesIndex(ORIGIN_CCI, position).getQ();
+	}
+
+	private static int positionR(NeighborPosition position) {
+		return new CubeCoordinatesIndex(ORIGIN_CCI, position).getR();
+	}
+
 	/* Hexagons population */
 	private final void populateGisHexagons(int nthRing) {
 		switch (nthRing) {
@@ -252,7 +427,7 @@ public class CornerEdgeTessellation {
 	// }
 
 	private final void populateGisRing0(Hexagon rootHexagon) { // Ring 0 has no corners
-		this.gisHexagons.add(rootHexagon);
+		emitGisHexagon(rootHexagon);
 	}
 
 	private final void populateGisRing1(Neighbors neighbors) {
@@ -302,7 +477,7 @@ public class CornerEdgeTessellation {
 		}
 
 		/* Populate hexagons with Neighbors 1 - 6 */
-		this.gisHexagons.addAll(neighborGisHexagons.subList(1, 7)); // 7 is exclusive, why? ask Java doc :)
+		emitGisHexagons(neighborGisHexagons.subList(1, 7)); // 7 is exclusive, why? ask Java doc :)
 	}
 
 	private final void populateGisRingN(int currentRing) {
@@ -351,11 +526,11 @@ public class CornerEdgeTessellation {
 					// Generate and add nextGisCornerHexagon
 					nextCornerHexagon = Neighbors.generateNeighborGisHexagon(previousCornerHexagon, nextCornerHexagonPosition);
 					c1GisHexagons.add(nextCornerHexagon);
-					gisHexagons.add(nextCornerHexagon);
+					emitGisHexagon(nextCornerHexagon);
 
 					// Generate gisEdgeHexagons from Corner Hexagon, Corner Position & requiredEdgeHexagons
 					edgeHexagons = generateGisEdgeHexagons(nextCornerHexagon, nextCornerHexagonPosition, requiredEdgeHexagons);
-					gisHexagons.addAll(edgeHexagons);
+					emitGisHexagons(edgeHexagons);
 					break;
 					
 				case TWO:
@@ -363,10 +538,10 @@ public class CornerEdgeTessellation {
 
 					nextCornerHexagon = Neighbors.generateNeighborGisHexagon(previousCornerHexagon, nextCornerHexagonPosition);
 					c2GisHexagons.add(nextCornerHexagon);
-					gisHexagons.add(nextCornerHexagon);
+					emitGisHexagon(nextCornerHexagon);
 
 					edgeHexagons = generateGisEdgeHexagons(nextCornerHexagon, nextCornerHexagonPosition, requiredEdgeHexagons);
-					gisHexagons.addAll(edgeHexagons);
+					emitGisHexagons(edgeHexagons);
 					break;
 
 				case THREE:
@@ -374,10 +549,10 @@ public class CornerEdgeTessellation {
 
 					nextCornerHexagon = Neighbors.generateNeighborGisHexagon(previousCornerHexagon, nextCornerHexagonPosition);
 					c3GisHexagons.add(nextCornerHexagon);
-					gisHexagons.add(nextCornerHexagon);
+					emitGisHexagon(nextCornerHexagon);
 
 					edgeHexagons = generateGisEdgeHexagons(nextCornerHexagon, nextCornerHexagonPosition, requiredEdgeHexagons);
-					gisHexagons.addAll(edgeHexagons);
+					emitGisHexagons(edgeHexagons);
 					break;
 
 				case FOUR:
@@ -385,10 +560,10 @@ public class CornerEdgeTessellation {
 
 					nextCornerHexagon = Neighbors.generateNeighborGisHexagon(previousCornerHexagon, nextCornerHexagonPosition);
 					c4GisHexagons.add(nextCornerHexagon);
-					gisHexagons.add(nextCornerHexagon);
+					emitGisHexagon(nextCornerHexagon);
 
 					edgeHexagons = generateGisEdgeHexagons(nextCornerHexagon, nextCornerHexagonPosition, requiredEdgeHexagons);
-					gisHexagons.addAll(edgeHexagons);
+					emitGisHexagons(edgeHexagons);
 					break;
 
 				case FIVE:
@@ -396,10 +571,10 @@ public class CornerEdgeTessellation {
 
 					nextCornerHexagon = Neighbors.generateNeighborGisHexagon(previousCornerHexagon, nextCornerHexagonPosition);
 					c5GisHexagons.add(nextCornerHexagon);
-					gisHexagons.add(nextCornerHexagon);
+					emitGisHexagon(nextCornerHexagon);
 
 					edgeHexagons = generateGisEdgeHexagons(nextCornerHexagon, nextCornerHexagonPosition, requiredEdgeHexagons);
-					gisHexagons.addAll(edgeHexagons);
+					emitGisHexagons(edgeHexagons);
 					break;
 
 				case SIX:
@@ -407,10 +582,10 @@ public class CornerEdgeTessellation {
 
 					nextCornerHexagon = Neighbors.generateNeighborGisHexagon(previousCornerHexagon, nextCornerHexagonPosition);
 					c6GisHexagons.add(nextCornerHexagon);
-					gisHexagons.add(nextCornerHexagon);
+					emitGisHexagon(nextCornerHexagon);
 
 					edgeHexagons = generateGisEdgeHexagons(nextCornerHexagon, nextCornerHexagonPosition, requiredEdgeHexagons);
-					gisHexagons.addAll(edgeHexagons);
+					emitGisHexagons(edgeHexagons);
 					break;
 
 				default:
@@ -421,6 +596,18 @@ public class CornerEdgeTessellation {
 		}
 	}
 
+	/* Pass generated hexagons to the listener */
+	private final void emitGisHexagon(Hexagon gisHexagon) {
+		this.listener.onHexagon(gisHexagon);
+		this.totalHexagons++;
+	}
+
+	private final void emitGisHexagons(List<Hexagon> gisHexagons) {
+		for (Hexagon gisHexagon : gisHexagons) {
+			emitGisHexagon(gisHexagon);
+		}
+	}
+
 	/* Corner - Edge hexagons population */
 	private final List<Hexagon> generateGisEdgeHexagons(Hexagon gisCornerHexagon, NeighborPosition cornerPosition, int quantity) {
 		assert quantity >= 1:
@@ -617,6 +804,7 @@ public class CornerEdgeTessellation {
 		totalRings = 0;
 		requiredRings = 0;
 		currentRing = 0;
+		totalHexagons = 0;
 	}
 
 	private final void clearCornerHexagons() {
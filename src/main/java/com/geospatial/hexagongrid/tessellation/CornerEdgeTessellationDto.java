@@ -57,16 +57,7 @@ public class CornerEdgeTessellationDto implements Serializable {
                 this.inradius = rootHexagon.getInradius();
 
                 /* Parse boundary data from payload */
-                final JsonObject boundaryJsonObject = payload.get("boundary").getAsJsonObject();
-
-                final double minLat = boundaryJsonObject.get("minLatitude").getAsDouble();
-                final double minLng = boundaryJsonObject.get("minLongitude").getAsDouble();
-                final double maxLat = boundaryJsonObject.get("maxLatitude").getAsDouble();
-                final double maxLng = boundaryJsonObject.get("maxLongitude").getAsDouble();
-
-                final Coordinates minCoordinates = new Coordinates(minLng, minLat);
-                final Coordinates maxCoordinates = new Coordinates(maxLng, maxLat);
-                this.boundary = new Boundary(minCoordinates, maxCoordinates);
+                this.boundary = parseBoundary(payload);
 
                 /* Tessellation */
                 final CornerEdgeTessellation tessellation = new CornerEdgeTessellation(rootHexagon);
@@ -79,4 +70,18 @@ public class CornerEdgeTessellationDto implements Serializable {
                 this.totalRings = tessellation.getTotalRings();
                 this.totalHexagons = tessellation.getTotalHexagons();
 	}
+
+        /* Parse the payload key `boundary` (min/max latitude & longitude) */
+        public static final Boundary parseBoundary(JsonObject payload) {
+                final JsonObject boundaryJsonObject = payload.get("boundary").getAsJsonObject();
+
+                final double minLat = boundaryJsonObject.get("minLatitude").getAsDouble();
+                final double minLng = boundaryJsonObject.get("minLongitude").getAsDouble();
+                final double maxLat = boundaryJsonObject.get("maxLatitude").getAsDouble();
+                final double maxLng = boundaryJsonObject.get("maxLongitude").getAsDouble();
+
+                final Coordinates minCoordinates = new Coordinates(minLng, minLat);
+                final Coordinates maxCoordinates = new Coordinates(maxLng, maxLat);
+                return new Boundary(minCoordinates, maxCoordinates);
+        }
 }
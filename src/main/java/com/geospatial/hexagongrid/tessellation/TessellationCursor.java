@@ -0,0 +1,64 @@
+package com.geospatial.hexagongrid.tessellation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * TessellationCursor
+ *
+ * Position of a hexagon in the ring order of a CornerEdgeTessellation: its ring
+ * and its offset in the ring (ring 0 has 1 hexagon, ring n >= 1 has 6n). A page
+ * of hexagons starts at a cursor, see CornerEdgeTessellation.tessellatePage.
+ *
+ * Clients receive the cursor as an opaque string: the base64url of
+ * "ring.offset".
+ */
+@Getter
+@ToString
+public class TessellationCursor {
+	public static final TessellationCursor FIRST = new TessellationCursor(0, 0);
+
+	private final int ring;
+	private final int offset;
+
+	public TessellationCursor(int ring, int offset) {
+		if (ring < 0 || offset < 0 || offset >= ringSize(ring)) {
+			throw new IllegalArgumentException(String.format(
+					"Invalid cursor: ring %s, offset %s", ring, offset));
+		}
+
+		this.ring = ring;
+		this.offset = offset;
+	}
+
+	/* Methods */
+	public final String encode() {
+		final String position = ring + "." + offset;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	public static TessellationCursor decode(String cursor) {
+		try {
+			final String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+			final int separator = position.indexOf('.');
+			return new TessellationCursor(
+					Integer.parseInt(position.substring(0, separator)),
+					Integer.parseInt(position.substring(separator + 1)));
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+		}
+	}
+
+	/* Hexagons in the ring */
+	public static int ringSize(int ring) {
+		return ring == 0 ? 1 : 6 * ring;
+	}
+
+	/* Hexagons in the rings 0 to rings - 1 */
+	public static long countHexagons(int rings) {
+		return rings == 0 ? 0 : 1 + 3L * rings * (rings - 1);
+	}
+}
@@ -0,0 +1,19 @@
+package com.geospatial.hexagongrid.tessellation;
+
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+
+/*
+ * TessellationListener
+ *
+ * Receives the hexagons of a CornerEdgeTessellation as soon as they are generated
+ * (ring by ring, in the same order as gisHexagons), so that they can be written
+ * or loaded without keeping the whole tessellation in memory.
+ */
+@FunctionalInterface
+public interface TessellationListener {
+	void onHexagon(Hexagon hexagon);
+
+	/* Called after each ring, completedRings goes from 1 to requiredRings */
+	default void onRingCompleted(int completedRings, int requiredRings) {
+	}
+}
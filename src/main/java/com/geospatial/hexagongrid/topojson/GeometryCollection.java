@@ -0,0 +1,23 @@
+package com.geospatial.hexagongrid.topojson;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@ToString
+@Getter
+class GeometryCollection {
+	private final String type = "GeometryCollection";
+	private final List<PolygonObject> geometries;
+
+	GeometryCollection(int initialCapacity) {
+		this.geometries = new ArrayList<PolygonObject>(initialCapacity);
+	}
+
+	/* Methods */
+	final void addGeometry(PolygonObject geometry) {
+		this.geometries.add(geometry);
+	}
+}
@@ -0,0 +1,30 @@
+package com.geospatial.hexagongrid.topojson;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * PolygonObject
+ *
+ * A TopoJSON Polygon: arcs is an array of rings, each ring is an array of arc
+ * indexes. A negative index (~i, or -i - 1) means arc i is traversed in reverse.
+ */
+@ToString
+@Getter
+class PolygonObject {
+	private final String type = "Polygon";
+	private final int[][] arcs;
+	private final Map<String, Object> properties = new LinkedHashMap<String, Object>();
+
+	PolygonObject(int[] ring) {
+		this.arcs = new int[][] { ring };
+	}
+
+	// properties methods
+	void addProperty(String key, Object value) {
+		this.properties.put(key, value);
+	}
+}
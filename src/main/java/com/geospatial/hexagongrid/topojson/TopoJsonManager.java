@@ -0,0 +1,174 @@
+package com.geospatial.hexagongrid.topojson;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.geospatial.hexagongrid.geodesy.SphericalMercatorProjection;
+import com.geospatial.hexagongrid.hexagon.Coordinates;
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.index.CubeCoordinatesIndex;
+import com.geospatial.hexagongrid.neighbors.Neighbors;
+import com.geospatial.hexagongrid.tessellation.CornerEdgeTessellation;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * TopoJsonManager
+ *
+ * Each vertex of a hexagon is shared by up to 3 hexagons, and each edge by 2, so
+ * GeoJSON writes every shared edge twice. TopoJSON stores each edge once as an
+ * arc, and the polygons reference arcs by index.
+ *
+ * --- LATTICE
+ * All hexagons of a grid have the same size, so every vertex lies on a regular
+ * lattice that is fully determined by the CCI of its hexagon:
+ * 	- x unit: circumradius / 2 (in degrees of longitude)
+ * 	- y unit: inradius (in degrees of latitude)
+ * 	- centroid of hexagon (q, r): x = 3q, y = q + 2r
+ * 	- vertices (0 - 5, same order as Hexagon gisVertices): centroid + VERTEX_X/Y
+ *
+ * These lattice units are used as the TopoJSON Transform, so the quantization is
+ * lossless and arcs are small integers.
+ *
+ * --- SHARED EDGES
+ * Edge k (vertex k -> k+1) of a hexagon is shared with its neighbor at
+ * NeighborPosition k+1, where it is the edge (k+3) % 6 traversed in reverse.
+ * Each hexagon owns its edges 0 - 2. Edges 3 - 5 reference the neighbor's arc
+ * (reversed), or are owned by the hexagon if the neighbor is not in the grid.
+ * Neighbors are looked up by CCI, no geometric hashing is needed.
+ */
+@ToString
+public class TopoJsonManager {
+	public static final String OBJECT_NAME = "hexagons";
+
+	/* Vertices offsets on the lattice, clockwise from the bottom-left vertex */
+	private static final int[] VERTEX_X = { -1, 1, 2, 1, -1, -2 };
+	private static final int[] VERTEX_Y = { -1, -1, 0, 1, 1, 0 };
+
+	/* CCI (q, r) offsets of the neighbor sharing edge k (NeighborPosition ONE - SIX) */
+	private static final int[] NEIGHBOR_Q = { 0, 1, 1, 0, -1, -1 };
+	private static final int[] NEIGHBOR_R = { -1, -1, 0, 1, 1, 0 };
+
+	@Getter
+	private final Topology topology;
+
+	/* Constructors */
+	public TopoJsonManager(Hexagon hexagon) {
+		this(List.of(hexagon));
+	}
+
+	public TopoJsonManager(Neighbors neighbors) {
+		this(neighbors.getGisHexagons());
+	}
+
+	public TopoJsonManager(CornerEdgeTessellation tessellation) {
+		this(tessellation.getGisHexagons());
+	}
+
+	public TopoJsonManager(List<Hexagon> hexagons) {
+		if (hexagons.isEmpty()) {
+			throw new IllegalArgumentException("Cannot create a Topology without hexagons.");
+		}
+
+		final int size = hexagons.size();
+
+		/* Lattice units (degrees), the same for all hexagons of a grid */
+		final Hexagon firstHexagon = hexagons.get(0);
+		final double scaleX = SphericalMercatorProjection.xToLongitude(firstHexagon.getCircumradius()) / 2;
+		final double scaleY = SphericalMercatorProjection.yToLatitude(firstHexagon.getInradius());
+
+		/* Lattice centroids & CCI lookup */
+		final int[] centroidX = new int[size];
+		final int[] centroidY = new int[size];
+		final Map<Long, Integer> cciLookup = new HashMap<Long, Integer>(size * 2);
+
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+		int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+		for (int i = 0; i < size; i++) {
+			final CubeCoordinatesIndex cci = hexagons.get(i).getCCI();
+			centroidX[i] = 3 * cci.getQ();
+			centroidY[i] = cci.getQ() + 2 * cci.getR();
+			cciLookup.put(packCCI(cci.getQ(), cci.getR()), i);
+
+			minX = Math.min(minX, centroidX[i] - 2);
+			minY = Math.min(minY, centroidY[i] - 1);
+			maxX = Math.max(maxX, centroidX[i] + 2);
+			maxY = Math.max(maxY, centroidY[i] + 1);
+		}
+
+		/* Transform: translate so that all quantized positions are >= 0 */
+		final Coordinates firstCentroid = firstHexagon.getCentroid();
+		final CubeCoordinatesIndex firstCCI = firstHexagon.getCCI();
+		// Longitude, latitude of the lattice origin (CCI 0, 0, 0)
+		final double originLng = firstCentroid.getLongitude() - 3 * firstCCI.getQ() * scaleX;
+		final double originLat = firstCentroid.getLatitude() - (firstCCI.getQ() + 2 * firstCCI.getR()) * scaleY;
+
+		final double translateX = originLng + minX * scaleX;
+		final double translateY = originLat + minY * scaleY;
+		final double[] bbox = {
+				translateX, translateY,
+				originLng + maxX * scaleX, originLat + maxY * scaleY };
+		this.topology = new Topology(bbox, new Transform(scaleX, scaleY, translateX, translateY));
+
+		/*
+		 * Pass 1: create arcs for owned edges
+		 * Pass 2: reference the neighbors' arcs for shared edges 3 - 5
+		 */
+		final int[] hexagonArcs = new int[size * 6];
+		final int[] neighborIndexes = new int[size * 6];
+		for (int i = 0; i < size; i++) {
+			final CubeCoordinatesIndex cci = hexagons.get(i).getCCI();
+
+			for (int edge = 0; edge < 6; edge++) {
+				final Integer neighborIndex = cciLookup.get(
+						packCCI(cci.getQ() + NEIGHBOR_Q[edge], cci.getR() + NEIGHBOR_R[edge]));
+				neighborIndexes[i * 6 + edge] = neighborIndex == null ? -1 : neighborIndex;
+
+				if (edge < 3 || neighborIndex == null) {
+					final int startX = centroidX[i] + VERTEX_X[edge] - minX;
+					final int startY = centroidY[i] + VERTEX_Y[edge] - minY;
+					final int nextVertex = (edge + 1) % 6;
+
+					// Delta-encoded arc: [start position, end position - start position]
+					final int[][] arc = {
+							{ startX, startY },
+							{ VERTEX_X[nextVertex] - VERTEX_X[edge], VERTEX_Y[nextVertex] - VERTEX_Y[edge] } };
+					hexagonArcs[i * 6 + edge] = topology.addArc(arc);
+				}
+			}
+		}
+
+		final GeometryCollection collection = new GeometryCollection(size);
+		for (int i = 0; i < size; i++) {
+			final int[] ring = new int[6];
+
+			for (int edge = 0; edge < 6; edge++) {
+				final int neighborIndex = neighborIndexes[i * 6 + edge];
+
+				if (edge < 3 || neighborIndex == -1) {
+					ring[edge] = hexagonArcs[i * 6 + edge];
+				} else {
+					// Shared edge: the neighbor's edge (edge - 3), reversed
+					ring[edge] = ~hexagonArcs[neighborIndex * 6 + edge - 3];
+				}
+			}
+
+			final Hexagon hexagon = hexagons.get(i);
+			final PolygonObject polygon = new PolygonObject(ring);
+			polygon.addProperty("ccid", hexagon.getCCI());
+			polygon.addProperty("circumradius", hexagon.getCircumradius());
+			polygon.addProperty("inradius", hexagon.getInradius());
+
+			collection.addGeometry(polygon);
+		}
+
+		this.topology.addObject(OBJECT_NAME, collection);
+	}
+
+	/* Internal methods */
+	private static final long packCCI(int q, int r) {
+		return ((long) q << 32) | (r & 0xFFFFFFFFL);
+	}
+}
@@ -0,0 +1,45 @@
+package com.geospatial.hexagongrid.topojson;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * Topology
+ *
+ * Root object of the TopoJSON format:
+ * - https://github.com/topojson/topojson-specification
+ *
+ * Instead of storing coordinates in each geometry, geometries reference shared
+ * arcs by index. Arcs are quantized & delta-encoded (see Transform).
+ */
+@ToString
+@Getter
+public class Topology {
+	private final String type = "Topology";
+	private final double[] bbox;
+	private final Transform transform;
+	private final Map<String, GeometryCollection> objects = new LinkedHashMap<String, GeometryCollection>();
+	@ToString.Exclude
+	private final List<int[][]> arcs = new ArrayList<int[][]>(100);
+
+	Topology(double[] bbox, Transform transform) {
+		this.bbox = bbox;
+		this.transform = transform;
+	}
+
+	/* Methods */
+	final void addObject(String name, GeometryCollection collection) {
+		this.objects.put(name, collection);
+	}
+
+	// Returns the index of the added arc
+	final int addArc(int[][] arc) {
+		this.arcs.add(arc);
+		return this.arcs.size() - 1;
+	}
+}
@@ -0,0 +1,24 @@
+package com.geospatial.hexagongrid.topojson;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * Transform
+ *
+ * Quantization of a TopoJSON Topology, a quantized position (x, y) is converted
+ * back to (longitude, latitude) by:
+ * 	longitude = x * scale[0] + translate[0]
+ * 	latitude = y * scale[1] + translate[1]
+ */
+@ToString
+@Getter
+class Transform {
+	private final double[] scale;
+	private final double[] translate;
+
+	Transform(double scaleX, double scaleY, double translateX, double translateY) {
+		this.scale = new double[] { scaleX, scaleY };
+		this.translate = new double[] { translateX, translateY };
+	}
+}
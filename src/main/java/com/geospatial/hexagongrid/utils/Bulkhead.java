@@ -0,0 +1,99 @@
+package com.geospatial.hexagongrid.utils;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.gson.JsonObject;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * Bulkhead
+ *
+ * Limits the number of requests of a group of routes that run at the same time
+ * (maxConcurrent), and the number of requests waiting for them (maxQueued), so
+ * slow routes (e.g. tessellations) cannot take all the server threads and
+ * starve fast routes (e.g. /api/hexagon).
+ *
+ * 	- a free permit: the request runs right away
+ * 	- no free permit: the request waits, at most maxWaitMillis, in the queue
+ * 	- queue full: the request is rejected right away, without waiting
+ *
+ * Permits are granted in arrival order (fair semaphore).
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public class Bulkhead {
+	@Getter
+	@ToString.Include
+	private final String name;
+	@ToString.Include
+	private final int maxConcurrent;
+	@ToString.Include
+	private final int maxQueued;
+	private final long maxWaitMillis;
+
+	private final Semaphore permits;
+	private final AtomicInteger queued = new AtomicInteger();
+
+	/* Metrics */
+	private final AtomicLong accepted = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong timeouts = new AtomicLong();
+
+	public Bulkhead(String name, int maxConcurrent, int maxQueued, long maxWaitMillis) {
+		this.name = name;
+		this.maxConcurrent = maxConcurrent;
+		this.maxQueued = maxQueued;
+		this.maxWaitMillis = maxWaitMillis;
+		this.permits = new Semaphore(maxConcurrent, true);
+	}
+
+	/* Methods */
+
+	/* Returns true if the request can run, it must then call exit() */
+	public final boolean tryEnter() throws InterruptedException {
+		// tryAcquire with a timeout respects the fairness, tryAcquire() would barge
+		if (permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+			accepted.incrementAndGet();
+			return true;
+		}
+
+		if (queued.incrementAndGet() > maxQueued) {
+			queued.decrementAndGet();
+			rejected.incrementAndGet();
+			return false;
+		}
+
+		try {
+			if (permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+				accepted.incrementAndGet();
+				return true;
+			}
+
+			timeouts.incrementAndGet();
+			return false;
+		} finally {
+			queued.decrementAndGet();
+		}
+	}
+
+	public final void exit() {
+		permits.release();
+	}
+
+	public final JsonObject getMetrics() {
+		final JsonObject metrics = new JsonObject();
+		metrics.addProperty("maxConcurrent", maxConcurrent);
+		metrics.addProperty("maxQueued", maxQueued);
+		metrics.addProperty("active", maxConcurrent - permits.availablePermits());
+		metrics.addProperty("queued", queued.get());
+		metrics.addProperty("accepted", accepted.get());
+		metrics.addProperty("rejected", rejected.get());
+		metrics.addProperty("timeouts", timeouts.get());
+
+		return metrics;
+	}
+}
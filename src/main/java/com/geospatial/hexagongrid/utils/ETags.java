@@ -0,0 +1,95 @@
+package com.geospatial.hexagongrid.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+
+/*
+ * ETags
+ *
+ * Strong ETags of responses that are a pure function of their parameters (e.g.
+ * a tessellation of latitude, longitude, radius & boundary): the ETag is a hash
+ * of the normalized parameters, so it is known before any work is done.
+ *
+ * Numbers are hashed as doubles, so "250", "250.0" and "2.5e2" have the same
+ * ETag. VERSION is part of the hash, change it when the output of the same
+ * parameters changes (e.g. new properties), so cached responses are not reused.
+ */
+public final class ETags {
+	public static final String VERSION = "1";
+
+	private ETags() {
+	}
+
+	/*
+	 * ETag of the route for the parameters (missing parameters are hashed as
+	 * absent), throws NumberFormatException if a number parameter is invalid
+	 */
+	public static String of(String route, Function<String, String> parameters, List<String> numberParameters,
+			List<String> textParameters) {
+		final MessageDigest digest = sha256();
+		final ByteBuffer number = ByteBuffer.allocate(1 + Double.BYTES);
+
+		updateText(digest, VERSION);
+		updateText(digest, route);
+		for (String name : numberParameters) {
+			final String value = parameters.apply(name);
+
+			number.clear();
+			if (value == null) {
+				number.put((byte) 0).putDouble(0);
+			} else {
+				// + 0.0 turns -0.0 into 0.0
+				number.put((byte) 1).putDouble(Double.parseDouble(value.trim()) + 0.0);
+			}
+			digest.update(number.flip());
+		}
+		for (String name : textParameters) {
+			final String value = parameters.apply(name);
+			digest.update((byte) (value == null ? 0 : 1));
+			updateText(digest, value == null ? "" : value);
+		}
+
+		// 128 bits are enough to identify a response
+		return '"' + HexFormat.of().formatHex(digest.digest(), 0, 16) + '"';
+	}
+
+	/* If-None-Match header matches the ETag (weak comparison, RFC 9110) */
+	public static boolean matches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+
+		for (String candidate : ifNoneMatch.split(",")) {
+			candidate = candidate.trim();
+			if (candidate.startsWith("W/")) {
+				candidate = candidate.substring(2);
+			}
+			if (candidate.equals("*") || candidate.equals(etag)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/* Internal methods */
+	private static void updateText(MessageDigest digest, String text) {
+		final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).flip());
+		digest.update(bytes);
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package com.geospatial.hexagongrid.utils;
+
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import spark.embeddedserver.jetty.JettyServerFactory;
+
+/*
+ * GzipJettyServerFactory
+ *
+ * Creates the Jetty server of Spark (same thread pools as Spark's default
+ * factory), with a GzipHandler in front of Spark's handler: responses are gzip
+ * compressed when the client accepts it (Accept-Encoding), and are at least
+ * minGzipSize bytes.
+ *
+ * Compression is applied to the response stream as it is written, with a sync
+ * flush on every flush, so streamed responses (e.g. GeoJSON sequences flushed
+ * after each ring) stay incremental instead of being buffered.
+ */
+public class GzipJettyServerFactory implements JettyServerFactory {
+	private final int compressionLevel;
+	private final int minGzipSize;
+
+	public GzipJettyServerFactory(int compressionLevel, int minGzipSize) {
+		if (compressionLevel < 1 || compressionLevel > 9) {
+			throw new IllegalArgumentException("compressionLevel must be between 1 and 9, currently: " + compressionLevel);
+		}
+
+		this.compressionLevel = compressionLevel;
+		this.minGzipSize = minGzipSize;
+	}
+
+	@Override
+	public Server create(int maxThreads, int minThreads, int threadTimeoutMillis) {
+		if (maxThreads <= 0) {
+			return create(null);
+		}
+
+		return create(new QueuedThreadPool(maxThreads,
+				minThreads > 0 ? minThreads : 8,
+				threadTimeoutMillis > 0 ? threadTimeoutMillis : 60000));
+	}
+
+	@Override
+	public Server create(ThreadPool threadPool) {
+		// Spark sets its handler when the server is ignited, wrap it there
+		return new Server(threadPool) {
+			@Override
+			public void setHandler(Handler handler) {
+				super.setHandler(gzipHandler(handler));
+			}
+		};
+	}
+
+	/* Internal methods */
+	private final GzipHandler gzipHandler(Handler handler) {
+		final GzipHandler gzipHandler = new GzipHandler();
+		// Most routes are POST, Jetty only compresses GET by default
+		gzipHandler.setIncludedMethods("GET", "POST");
+		gzipHandler.setCompressionLevel(compressionLevel);
+		gzipHandler.setMinGzipSize(minGzipSize);
+		gzipHandler.setSyncFlush(true);
+		gzipHandler.setHandler(handler);
+
+		return gzipHandler;
+	}
+}
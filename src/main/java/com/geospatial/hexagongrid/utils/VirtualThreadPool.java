@@ -0,0 +1,63 @@
+package com.geospatial.hexagongrid.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+/*
+ * VirtualThreadPool
+ *
+ * Jetty ThreadPool that runs each task (acceptors, selectors and requests) on
+ * its own virtual thread, see VirtualThreads. Requests blocked on I/O (e.g.
+ * JDBC) release their carrier thread, so the number of concurrent requests is
+ * no longer capped by the number of platform threads.
+ *
+ * There are no idle threads and the pool is never low on threads, CPU-bound
+ * routes must be limited separately (see Bulkhead).
+ */
+public class VirtualThreadPool extends AbstractLifeCycle implements ThreadPool {
+	private final ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+	private final AtomicInteger threads = new AtomicInteger();
+
+	@Override
+	public void execute(Runnable task) {
+		executor.execute(() -> {
+			threads.incrementAndGet();
+			try {
+				task.run();
+			} finally {
+				threads.decrementAndGet();
+			}
+		});
+	}
+
+	@Override
+	public void join() throws InterruptedException {
+		executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+	}
+
+	/* Running virtual threads */
+	@Override
+	public int getThreads() {
+		return threads.get();
+	}
+
+	@Override
+	public int getIdleThreads() {
+		return 0;
+	}
+
+	@Override
+	public boolean isLowOnThreads() {
+		return false;
+	}
+
+	@Override
+	protected void doStop() throws Exception {
+		executor.shutdownNow();
+		super.doStop();
+	}
+}
@@ -0,0 +1,47 @@
+package com.geospatial.hexagongrid.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * VirtualThreads
+ *
+ * Virtual threads (JDK 21+) through reflection, so the project still compiles
+ * and runs on JDK 17: isSupported() is false on older runtimes.
+ */
+public final class VirtualThreads {
+	// Executors.newVirtualThreadPerTaskExecutor(), null before JDK 21
+	private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findExecutorFactory();
+
+	private VirtualThreads() {
+	}
+
+	public static boolean isSupported() {
+		return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+	}
+
+	/* An executor that starts a new virtual thread for each task */
+	public static ExecutorService newVirtualThreadPerTaskExecutor() {
+		if (!isSupported()) {
+			throw new UnsupportedOperationException(
+					"Virtual threads require Java 21+, current: " + Runtime.version());
+		}
+
+		try {
+			return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new IllegalStateException("Failed to create the virtual thread executor.", e);
+		}
+	}
+
+	/* Internal methods */
+	private static Method findExecutorFactory() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+}
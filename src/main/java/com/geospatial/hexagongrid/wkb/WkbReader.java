@@ -0,0 +1,75 @@
+package com.geospatial.hexagongrid.wkb;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.geospatial.hexagongrid.hexagon.Coordinates;
+
+/*
+ * WkbReader
+ *
+ * Decodes the (E)WKB Points and Polygons read from PostGIS (e.g. ST_AsBinary or
+ * the geometry columns in binary format), see WkbWriter for the layout.
+ *
+ * Both byte orders are supported, and the SRID of EWKB is skipped. Only the
+ * exterior ring of a Polygon is read, tessellation polygons have no holes.
+ */
+public final class WkbReader {
+	private static final int WKB_POINT = 1;
+	private static final int WKB_POLYGON = 3;
+	private static final int EWKB_SRID_FLAG = 0x20000000;
+	// Z/M flags of EWKB and ISO WKB are not supported
+	private static final int EWKB_DIMENSION_FLAGS = 0xC0000000;
+
+	private WkbReader() {
+	}
+
+	public static Coordinates readPoint(byte[] wkb) {
+		final ByteBuffer buffer = readHeader(wkb, WKB_POINT);
+
+		final double longitude = buffer.getDouble();
+		final double latitude = buffer.getDouble();
+		return new Coordinates(longitude, latitude);
+	}
+
+	public static List<Coordinates> readPolygon(byte[] wkb) {
+		final ByteBuffer buffer = readHeader(wkb, WKB_POLYGON);
+
+		final int rings = buffer.getInt();
+		if (rings < 1) {
+			return new ArrayList<Coordinates>(0);
+		}
+
+		final int points = buffer.getInt();
+		final List<Coordinates> exteriorRing = new ArrayList<Coordinates>(points);
+		for (int i = 0; i < points; i++) {
+			final double longitude = buffer.getDouble();
+			final double latitude = buffer.getDouble();
+			exteriorRing.add(new Coordinates(longitude, latitude));
+		}
+
+		return exteriorRing;
+	}
+
+	/* Internal methods */
+	private static ByteBuffer readHeader(byte[] wkb, int expectedType) {
+		final ByteBuffer buffer = ByteBuffer.wrap(wkb);
+		buffer.order(buffer.get() == 1 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+
+		final int type = buffer.getInt();
+		if ((type & EWKB_DIMENSION_FLAGS) != 0 || (type & 0xFFFF) > 1000) {
+			throw new IllegalArgumentException("Only 2D geometries are supported, type: " + Integer.toHexString(type));
+		}
+		if ((type & EWKB_SRID_FLAG) != 0) {
+			buffer.getInt(); // SRID
+		}
+		if ((type & 0xFF) != expectedType) {
+			throw new IllegalArgumentException(String.format(
+					"Expected geometry type %s, currently: %s", expectedType, type & 0xFF));
+		}
+
+		return buffer;
+	}
+}
@@ -0,0 +1,149 @@
+package com.geospatial.hexagongrid.wkb;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+import com.geospatial.hexagongrid.hexagon.Coordinates;
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+
+/*
+ * WkbWriter
+ *
+ * Encodes hexagons as (Extended) Well-Known Binary:
+ * - https://libgeos.org/specifications/wkb/
+ *
+ * WKB is the native geometry format of PostGIS, so binary geometries are
+ * ingested without parsing any text or calling ST_MakePoint per vertex.
+ *
+ * --- LAYOUT (little-endian)
+ * 	- byte order (1 = little-endian)
+ * 	- geometry type (uint32), with the EWKB_SRID_FLAG if the SRID is included
+ * 	- SRID (uint32), EWKB only
+ * 	- Point: x, y (double)
+ * 	- Polygon: number of rings (uint32), then for each ring: number of points
+ * (uint32), x, y (double) of each point. A hexagon has 1 ring of 7 points (closed).
+ *
+ * The geometries are written into a reusable ByteBuffer: the returned buffer is
+ * only valid until the next call, and a writer is not thread-safe.
+ */
+public class WkbWriter {
+	public static final String CONTENT_TYPE = "application/octet-stream";
+	public static final String FILE_EXTENSION = ".wkb";
+
+	public static final int SRID_WGS84 = 4326;
+
+	/* Geometry types */
+	private static final int WKB_POINT = 1;
+	private static final int WKB_POLYGON = 3;
+	private static final int WKB_MULTIPOLYGON = 6;
+	private static final int EWKB_SRID_FLAG = 0x20000000;
+
+	private static final byte LITTLE_ENDIAN = 1;
+	private static final int HEXAGON_RING_POINTS = 7;
+
+	/* Sizes (bytes) */
+	private static final int HEADER_BYTES = 1 + 4;
+	private static final int SRID_BYTES = 4;
+	private static final int POINT_BYTES = 2 * 8;
+	private static final int POLYGON_BODY_BYTES = 4 + 4 + HEXAGON_RING_POINTS * POINT_BYTES;
+	public static final int POINT_EWKB_BYTES = HEADER_BYTES + SRID_BYTES + POINT_BYTES; // 25
+	public static final int POLYGON_EWKB_BYTES = HEADER_BYTES + SRID_BYTES + POLYGON_BODY_BYTES; // 129
+
+	private final boolean extended;
+	private final ByteBuffer buffer = ByteBuffer.allocate(POLYGON_EWKB_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+	/* Constructors */
+	public WkbWriter() {
+		// EWKB (with SRID 4326) by default, as stored in PostGIS
+		this(true);
+	}
+
+	public WkbWriter(boolean extended) {
+		this.extended = extended;
+	}
+
+	/* Public methods */
+	public final ByteBuffer writePoint(Coordinates coordinates) {
+		buffer.clear();
+		putHeader(WKB_POINT, extended);
+		buffer.putDouble(coordinates.getLongitude());
+		buffer.putDouble(coordinates.getLatitude());
+
+		return buffer.flip();
+	}
+
+	public final ByteBuffer writePolygon(Hexagon hexagon) {
+		buffer.clear();
+		putHeader(WKB_POLYGON, extended);
+		putHexagonRing(hexagon);
+
+		return buffer.flip();
+	}
+
+	/* Copies of the reusable buffer, e.g. for PreparedStatement.setBytes() */
+	public final byte[] centroidBytes(Hexagon hexagon) {
+		return toBytes(writePoint(hexagon.getCentroid()));
+	}
+
+	public final byte[] polygonBytes(Hexagon hexagon) {
+		return toBytes(writePolygon(hexagon));
+	}
+
+	/*
+	 * All hexagons as a single MultiPolygon. Only the MultiPolygon has the SRID,
+	 * its Polygons are plain WKB.
+	 */
+	public final void writeMultiPolygon(List<Hexagon> hexagons, OutputStream outputStream) throws IOException {
+		final OutputStream out = new BufferedOutputStream(outputStream, 1 << 16);
+
+		buffer.clear();
+		putHeader(WKB_MULTIPOLYGON, extended);
+		buffer.putInt(hexagons.size());
+		out.write(buffer.array(), 0, buffer.position());
+
+		for (Hexagon hexagon : hexagons) {
+			buffer.clear();
+			putHeader(WKB_POLYGON, false);
+			putHexagonRing(hexagon);
+			out.write(buffer.array(), 0, buffer.position());
+		}
+
+		out.flush();
+	}
+
+	/* Internal methods */
+	private final void putHeader(int geometryType, boolean withSrid) {
+		buffer.put(LITTLE_ENDIAN);
+		if (withSrid) {
+			buffer.putInt(geometryType | EWKB_SRID_FLAG);
+			buffer.putInt(SRID_WGS84);
+		} else {
+			buffer.putInt(geometryType);
+		}
+	}
+
+	private final void putHexagonRing(Hexagon hexagon) {
+		final List<Coordinates> gisVertices = hexagon.getGisVertices();
+		if (gisVertices.size() != HEXAGON_RING_POINTS) {
+			throw new IllegalArgumentException(String.format(
+					"A hexagon ring must have %s vertices (closed), currently: %s",
+					HEXAGON_RING_POINTS, gisVertices.size()));
+		}
+
+		buffer.putInt(1); // number of rings
+		buffer.putInt(HEXAGON_RING_POINTS);
+		for (Coordinates vertex : gisVertices) {
+			buffer.putDouble(vertex.getLongitude());
+			buffer.putDouble(vertex.getLatitude());
+		}
+	}
+
+	private static final byte[] toBytes(ByteBuffer buffer) {
+		return Arrays.copyOfRange(buffer.array(), buffer.position(), buffer.limit());
+	}
+}
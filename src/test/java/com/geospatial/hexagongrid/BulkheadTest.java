@@ -0,0 +1,146 @@
+package com.geospatial.hexagongrid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.geospatial.hexagongrid.utils.Bulkhead;
+
+public class BulkheadTest {
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+
+        @AfterEach
+        public void shutdown() {
+                executor.shutdownNow();
+        }
+
+        @Test
+        public void freePermit_EQUALS_accepted() throws InterruptedException {
+                final Bulkhead bulkhead = new Bulkhead("test", 2, 0, 0);
+
+                assertTrue(bulkhead.tryEnter());
+                assertTrue(bulkhead.tryEnter());
+                assertEquals(2, metric(bulkhead, "active"));
+                assertEquals(2, metric(bulkhead, "accepted"));
+
+                bulkhead.exit();
+                bulkhead.exit();
+                assertEquals(0, metric(bulkhead, "active"));
+        }
+
+        @Test
+        public void queued_EQUALS_acceptedOnExit() throws Exception {
+                final Bulkhead bulkhead = new Bulkhead("test", 1, 1, 10_000);
+                assertTrue(bulkhead.tryEnter());
+
+                final Future<Boolean> waiting = executor.submit(bulkhead::tryEnter);
+                awaitMetric(bulkhead, "queued", 1);
+                assertFalse(waiting.isDone());
+
+                bulkhead.exit();
+                assertTrue(waiting.get(5, TimeUnit.SECONDS));
+                assertEquals(0, metric(bulkhead, "queued"));
+                assertEquals(1, metric(bulkhead, "active"));
+                assertEquals(2, metric(bulkhead, "accepted"));
+
+                bulkhead.exit();
+                assertEquals(0, metric(bulkhead, "active"));
+        }
+
+        @Test
+        public void queueFull_EQUALS_rejected() throws Exception {
+                final Bulkhead bulkhead = new Bulkhead("test", 1, 1, 10_000);
+                assertTrue(bulkhead.tryEnter());
+
+                final Future<Boolean> waiting = executor.submit(bulkhead::tryEnter);
+                awaitMetric(bulkhead, "queued", 1);
+
+                // Rejected right away, without waiting for maxWaitMillis
+                final long startTime = System.currentTimeMillis();
+                assertFalse(bulkhead.tryEnter());
+                assertTrue(System.currentTimeMillis() - startTime < 1000);
+                assertEquals(1, metric(bulkhead, "rejected"));
+                assertEquals(1, metric(bulkhead, "queued"));
+
+                bulkhead.exit();
+                assertTrue(waiting.get(5, TimeUnit.SECONDS));
+                bulkhead.exit();
+                assertEquals(0, metric(bulkhead, "active"));
+                assertEquals(0, metric(bulkhead, "queued"));
+        }
+
+        @Test
+        public void maxWait_EQUALS_timeout() throws InterruptedException {
+                final Bulkhead bulkhead = new Bulkhead("test", 1, 1, 50);
+                assertTrue(bulkhead.tryEnter());
+
+                assertFalse(bulkhead.tryEnter());
+                assertEquals(1, metric(bulkhead, "timeouts"));
+                assertEquals(0, metric(bulkhead, "queued"));
+                assertEquals(1, metric(bulkhead, "active"));
+
+                // The timed out request holds no permit
+                bulkhead.exit();
+                assertEquals(0, metric(bulkhead, "active"));
+                assertTrue(bulkhead.tryEnter());
+                bulkhead.exit();
+        }
+
+        @Test
+        public void interruptedWhileQueued_EQUALS_noPermitHeld() throws Exception {
+                final Bulkhead bulkhead = new Bulkhead("test", 1, 1, 10_000);
+                assertTrue(bulkhead.tryEnter());
+
+                final Future<Boolean> waiting = executor.submit(bulkhead::tryEnter);
+                awaitMetric(bulkhead, "queued", 1);
+                waiting.cancel(true);
+                awaitMetric(bulkhead, "queued", 0);
+
+                assertEquals(1, metric(bulkhead, "active"));
+                assertEquals(1, metric(bulkhead, "accepted"));
+                bulkhead.exit();
+                assertEquals(0, metric(bulkhead, "active"));
+        }
+
+        @Test
+        public void interruptedWhileQueued_EQUALS_InterruptedException() throws Exception {
+                final Bulkhead bulkhead = new Bulkhead("test", 1, 1, 10_000);
+                assertTrue(bulkhead.tryEnter());
+
+                final Future<Boolean> waiting = executor.submit(() -> {
+                        Thread.currentThread().interrupt();
+                        return bulkhead.tryEnter();
+                });
+
+                final ExecutionException e = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(InterruptedException.class, e.getCause());
+                assertEquals(0, metric(bulkhead, "queued"));
+                assertEquals(1, metric(bulkhead, "active"));
+
+                bulkhead.exit();
+                assertEquals(0, metric(bulkhead, "active"));
+        }
+
+        private static long metric(Bulkhead bulkhead, String name) {
+                return bulkhead.getMetrics().get(name).getAsLong();
+        }
+
+        private static void awaitMetric(Bulkhead bulkhead, String name, long expected) throws InterruptedException {
+                final long deadline = System.currentTimeMillis() + 5000;
+                while (metric(bulkhead, name) != expected && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(5);
+                }
+                assertEquals(expected, metric(bulkhead, name));
+        }
+}
@@ -0,0 +1,52 @@
+package com.geospatial.hexagongrid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.junit.jupiter.api.Test;
+
+import com.geospatial.hexagongrid.index.CellIndex;
+import com.geospatial.hexagongrid.index.CubeCoordinatesIndex;
+
+public class CellIndexTest {
+        private static final int RADIUS = 30;
+
+        @Test
+        public void indexOf_EQUALS_insertionIndex() {
+                // Start smaller than the grid so the arrays and hash table have to grow
+                final CellIndex cellIndex = new CellIndex(1000, 16);
+                for (int q = -RADIUS; q <= RADIUS; q++) {
+                        for (int r = -RADIUS; r <= RADIUS; r++) {
+                                cellIndex.add(q, r, -q - r, q * 0.01, r * 0.01);
+                        }
+                }
+
+                final int side = 2 * RADIUS + 1;
+                assertEquals(side * side, cellIndex.getSize());
+
+                int expectedIndex = 0;
+                for (int q = -RADIUS; q <= RADIUS; q++) {
+                        for (int r = -RADIUS; r <= RADIUS; r++) {
+                                final int index = cellIndex.indexOf(q, r);
+                                assertEquals(expectedIndex++, index);
+                                assertEquals(-q - r, cellIndex.getS(index));
+                                assertEquals(q * 0.01, cellIndex.getLongitude(index));
+                                assertEquals(r * 0.01, cellIndex.getLatitude(index));
+                        }
+                }
+
+                assertFalse(cellIndex.contains(RADIUS + 1, 0));
+                assertEquals(-1, cellIndex.indexOf(0, -RADIUS - 1));
+        }
+
+        @Test
+        public void cellId_roundTrip() {
+                for (int q : new int[] { 0, 1, -1, RADIUS, -RADIUS, Integer.MAX_VALUE, Integer.MIN_VALUE }) {
+                        for (int r : new int[] { 0, 1, -1, RADIUS, -RADIUS, Integer.MAX_VALUE, Integer.MIN_VALUE }) {
+                                final long cellId = CubeCoordinatesIndex.toCellId(q, r);
+                                assertEquals(q, CubeCoordinatesIndex.cellIdToQ(cellId));
+                                assertEquals(r, CubeCoordinatesIndex.cellIdToR(cellId));
+                        }
+                }
+        }
+}
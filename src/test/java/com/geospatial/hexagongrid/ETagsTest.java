@@ -0,0 +1,87 @@
+package com.geospatial.hexagongrid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.geospatial.hexagongrid.utils.ETags;
+
+public class ETagsTest {
+        private static final List<String> NUMBER_PARAMETERS = List.of("latitude", "longitude", "radius");
+        private static final List<String> TEXT_PARAMETERS = List.of("format", "cursor");
+
+        private static String etag(Map<String, String> parameters) {
+                return ETags.of("/api/tessellation", parameters::get, NUMBER_PARAMETERS, TEXT_PARAMETERS);
+        }
+
+        @Test
+        public void etag_EQUALS_quoted128BitsHex() {
+                final String etag = etag(Map.of("latitude", "10.7755", "longitude", "106.7021", "radius", "500"));
+
+                assertTrue(etag.matches("\"[0-9a-f]{32}\""), etag);
+        }
+
+        @Test
+        public void sameNumbers_EQUALS_sameETag() {
+                final String etag = etag(Map.of("latitude", "10.7755", "longitude", "106.7021", "radius", "500"));
+
+                assertEquals(etag, etag(Map.of("latitude", "10.77550", "longitude", " 106.7021 ", "radius", "500.0")));
+                assertEquals(etag, etag(Map.of("latitude", "10.7755", "longitude", "106.7021", "radius", "5e2")));
+                assertEquals(etag(Map.of("latitude", "0", "longitude", "0", "radius", "500")),
+                                etag(Map.of("latitude", "-0.0", "longitude", "0", "radius", "500")));
+        }
+
+        @Test
+        public void differentParameters_NOT_EQUALS_sameETag() {
+                final String etag = etag(Map.of("latitude", "10.7755", "longitude", "106.7021", "radius", "500"));
+
+                assertNotEquals(etag, etag(Map.of("latitude", "10.7755", "longitude", "106.7021", "radius", "501")));
+                // Values are not swapped between parameters
+                assertNotEquals(etag, etag(Map.of("latitude", "106.7021", "longitude", "10.7755", "radius", "500")));
+                // Absent text parameter differs from an empty one
+                assertNotEquals(etag, etag(Map.of("latitude", "10.7755", "longitude", "106.7021", "radius", "500",
+                                "format", "")));
+                assertNotEquals(etag(Map.of("latitude", "10.7755", "longitude", "106.7021", "radius", "500",
+                                "format", "ab")),
+                                etag(Map.of("latitude", "10.7755", "longitude", "106.7021", "radius", "500",
+                                                "format", "a", "cursor", "b")));
+                // Route is part of the ETag
+                assertNotEquals(etag, ETags.of("/api/hexagon", Map.of("latitude", "10.7755", "longitude", "106.7021",
+                                "radius", "500")::get, NUMBER_PARAMETERS, TEXT_PARAMETERS));
+        }
+
+        @Test
+        public void invalidNumber_THROWS_NumberFormatException() {
+                assertThrows(NumberFormatException.class,
+                                () -> etag(Map.of("latitude", "north", "longitude", "106.7021", "radius", "500")));
+        }
+
+        @Test
+        public void ifNoneMatch_EQUALS_matches() {
+                final String etag = "\"0123456789abcdef0123456789abcdef\"";
+
+                assertTrue(ETags.matches(etag, etag));
+                assertTrue(ETags.matches("W/" + etag, etag));
+                assertTrue(ETags.matches("*", etag));
+                assertTrue(ETags.matches("\"other\", " + etag, etag));
+                assertTrue(ETags.matches("\"other\",W/" + etag + " ,\"another\"", etag));
+        }
+
+        @Test
+        public void ifNoneMatch_NOT_EQUALS_matches() {
+                final String etag = "\"0123456789abcdef0123456789abcdef\"";
+
+                assertFalse(ETags.matches(null, etag));
+                assertFalse(ETags.matches("", etag));
+                assertFalse(ETags.matches("\"other\", W/\"another\"", etag));
+                // Unquoted value is not the ETag
+                assertFalse(ETags.matches("0123456789abcdef0123456789abcdef", etag));
+        }
+}
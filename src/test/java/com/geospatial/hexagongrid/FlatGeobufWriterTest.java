@@ -0,0 +1,43 @@
+package com.geospatial.hexagongrid;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.geospatial.hexagongrid.flatgeobuf.FlatGeobufWriter;
+import com.geospatial.hexagongrid.hexagon.Coordinates;
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.index.HilbertCurve;
+import com.geospatial.hexagongrid.neighbors.Neighbors;
+
+public class FlatGeobufWriterTest {
+        private Coordinates centroid = new Coordinates(106.7021262, 10.7745382);
+        private Hexagon hexagon = new Hexagon(centroid, 500);
+        private Neighbors neighbors = new Neighbors(hexagon);
+
+        @Test
+        public void fileStartsWithMagicBytes() {
+                final byte[] bytes = new FlatGeobufWriter("neighbors", neighbors.getGisHexagons()).toByteArray();
+                final byte[] MAGIC_BYTES = { 0x66, 0x67, 0x62, 0x03, 0x66, 0x67, 0x62, 0x00 };
+
+                assertArrayEquals(MAGIC_BYTES, Arrays.copyOfRange(bytes, 0, 8));
+
+                // Header is a size-prefixed FlatBuffer right after the magic bytes
+                final int headerSize = ByteBuffer.wrap(bytes, 8, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+                assertTrue(headerSize > 0 && 12 + headerSize < bytes.length);
+        }
+
+        @Test
+        public void hilbert_EQUALS_referenceImplementation() {
+                // Reference values from FlatGeobuf's PackedRTree.hilbert (Java implementation)
+                assertEquals(1979053558L, HilbertCurve.hilbert(0.3, 0.7, 0, 0, 1, 1));
+                assertEquals(4248713850L, HilbertCurve.hilbert(0.91, 0.12, 0, 0, 1, 1));
+                assertEquals(0L, HilbertCurve.hilbert(0, 0));
+        }
+}
@@ -0,0 +1,76 @@
+package com.geospatial.hexagongrid;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.geospatial.hexagongrid.hexagon.Coordinates;
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.index.CubeCoordinatesIndex;
+import com.geospatial.hexagongrid.index.RadixSort;
+import com.geospatial.hexagongrid.tessellation.Boundary;
+import com.geospatial.hexagongrid.tessellation.CornerEdgeTessellation;
+
+public class HilbertOrderTest {
+        private Coordinates centroid = new Coordinates(106.7021, 10.7755);
+        private Boundary boundary = new Boundary(new Coordinates(106.6, 10.7), new Coordinates(106.8, 10.85));
+
+        @Test
+        public void radixSort_EQUALS_arraysSort() {
+                final Random random = new Random(42);
+                final long[] keys = new long[300000];
+                for (int i = 0; i < keys.length; i++) {
+                        // Same layout as the Hilbert sort keys: (32 bits value << 31) | index
+                        keys[i] = ((random.nextLong() & 0xFFFFFFFFL) << 31) | i;
+                }
+
+                final long[] expected = keys.clone();
+                Arrays.sort(expected);
+                RadixSort.parallelSort(keys, 4);
+
+                assertArrayEquals(expected, keys);
+        }
+
+        @Test
+        public void sortByHilbertCurve_KEEPS_allHexagons() {
+                final CornerEdgeTessellation tessellation = new CornerEdgeTessellation(new Hexagon(centroid, 250));
+                tessellation.tessellate(boundary);
+                final Set<Long> ringOrder = new HashSet<Long>();
+                for (Hexagon hexagon : tessellation.getGisHexagons()) {
+                        ringOrder.add(pack(hexagon.getCCI()));
+                }
+
+                tessellation.sortByHilbertCurve();
+                final List<Hexagon> hilbertOrder = tessellation.getGisHexagons();
+
+                final int ringOrderSize = ringOrder.size();
+                assertEquals(ringOrderSize, hilbertOrder.size());
+                int adjacent = 0;
+                for (int i = 0; i < hilbertOrder.size(); i++) {
+                        assertTrue(ringOrder.remove(pack(hilbertOrder.get(i).getCCI())));
+
+                        if (i > 0 && distance(hilbertOrder.get(i - 1).getCCI(), hilbertOrder.get(i).getCCI()) == 1) {
+                                adjacent++;
+                        }
+                }
+
+                // Most consecutive hexagons are neighbors along the curve
+                assertTrue(adjacent > hilbertOrder.size() / 2);
+        }
+
+        private static long pack(CubeCoordinatesIndex cci) {
+                return ((long) cci.getQ() << 32) | (cci.getR() & 0xFFFFFFFFL);
+        }
+
+        private static int distance(CubeCoordinatesIndex a, CubeCoordinatesIndex b) {
+                return (Math.abs(a.getQ() - b.getQ()) + Math.abs(a.getR() - b.getR()) + Math.abs(a.getS() - b.getS())) / 2;
+        }
+}
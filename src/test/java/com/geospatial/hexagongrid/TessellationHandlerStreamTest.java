@@ -0,0 +1,69 @@
+package com.geospatial.hexagongrid;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.geospatial.hexagongrid.lambda.TessellationHandlerStream;
+
+public class TessellationHandlerStreamTest {
+        private static final String BOUNDARY = "\"boundary\": {\"minLatitude\": 10.77, \"minLongitude\": 106.70,"
+                        + " \"maxLatitude\": 10.78, \"maxLongitude\": 106.71}";
+
+        // Context of the invocation, only its logger is used
+        private final Context context = (Context) Proxy.newProxyInstance(Context.class.getClassLoader(),
+                        new Class<?>[] { Context.class }, (proxy, method, args) -> method.getName().equals("getLogger")
+                                        ? new LambdaLogger() {
+                                                @Override
+                                                public void log(String message) {
+                                                }
+
+                                                @Override
+                                                public void log(byte[] message) {
+                                                }
+                                        }
+                                        : null);
+
+        private String handle(String event) throws IOException {
+                final ByteArrayOutputStream output = new ByteArrayOutputStream();
+                new TessellationHandlerStream().handleRequest(
+                                new ByteArrayInputStream(event.getBytes(StandardCharsets.UTF_8)), output, context);
+
+                return output.toString(StandardCharsets.UTF_8);
+        }
+
+        @Test
+        public void validPayload_EQUALS_featureCollection() throws IOException {
+                final String output = handle("{\"latitude\": 10.7755, \"longitude\": 106.7021, \"radius\": 500, "
+                                + BOUNDARY + "}");
+
+                assertTrue(output.startsWith("{\"type\":\"FeatureCollection\""), output);
+        }
+
+        @Test
+        public void malformedPayload_EQUALS_invalidJsonResponse() throws IOException {
+                final String[] events = {
+                                // NumberFormatException
+                                "{\"latitude\": 10.7755, \"longitude\": 106.7021, \"radius\": \"abc\", " + BOUNDARY + "}",
+                                // UnsupportedOperationException
+                                "{\"latitude\": {}, \"longitude\": 106.7021, \"radius\": 500, " + BOUNDARY + "}",
+                                // Missing key
+                                "{\"latitude\": 10.7755, \"longitude\": 106.7021, " + BOUNDARY + "}",
+                                // Not JSON
+                                "{\"latitude\": 10.7755,, ]",
+                                "[]" };
+
+                for (String event : events) {
+                        final String output = handle(event);
+                        assertTrue(output.startsWith("\"Invalid JSON data provided: "), event + " -> " + output);
+                }
+        }
+}
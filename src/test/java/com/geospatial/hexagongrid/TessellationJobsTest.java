@@ -0,0 +1,95 @@
+package com.geospatial.hexagongrid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.geospatial.hexagongrid.jobs.TessellationJob;
+import com.geospatial.hexagongrid.jobs.TessellationJobs;
+import com.google.gson.JsonObject;
+
+public class TessellationJobsTest {
+        private final TessellationJobs jobs = new TessellationJobs(1, 1);
+
+        private static void awaitFinished(TessellationJob job) throws InterruptedException {
+                final long deadline = System.currentTimeMillis() + 5000;
+                while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(5);
+                }
+                assertTrue(job.isFinished(), job.toJson().toString());
+        }
+
+        @Test
+        public void cancelDuringBatchLoad_EQUALS_loadCompleted() throws InterruptedException {
+                final CountDownLatch loading = new CountDownLatch(1);
+                final CountDownLatch cancelled = new CountDownLatch(1);
+
+                // As tessellationToDatabase with the batch loader: batches are committed as they go
+                final TessellationJob job = jobs.submit(runningJob -> {
+                        if (!runningJob.disableCancel()) {
+                                throw new CancellationException("Cancelled before loading.");
+                        }
+                        loading.countDown();
+                        cancelled.await();
+
+                        // Never interrupted, so every batch is committed, then the primary key is added
+                        final JsonObject result = new JsonObject();
+                        result.addProperty("interrupted", Thread.currentThread().isInterrupted());
+                        return result;
+                }, false);
+
+                assertTrue(loading.await(5, TimeUnit.SECONDS));
+                assertFalse(jobs.cancel(job));
+                assertFalse(job.toJson().get("cancellable").getAsBoolean());
+                cancelled.countDown();
+
+                awaitFinished(job);
+                assertEquals(TessellationJob.State.SUCCEEDED, job.getState());
+                assertFalse(job.toJson().get("result").getAsJsonObject().get("interrupted").getAsBoolean());
+        }
+
+        @Test
+        public void cancelBeforeBatchLoad_EQUALS_cancelled() throws InterruptedException {
+                final CountDownLatch tessellating = new CountDownLatch(1);
+                final CountDownLatch cancelled = new CountDownLatch(1);
+
+                final TessellationJob job = jobs.submit(runningJob -> {
+                        tessellating.countDown();
+                        cancelled.await();
+                        if (!runningJob.disableCancel()) {
+                                throw new CancellationException("Cancelled before loading.");
+                        }
+                        return new JsonObject();
+                }, false);
+
+                assertTrue(tessellating.await(5, TimeUnit.SECONDS));
+                assertTrue(jobs.cancel(job));
+                cancelled.countDown();
+
+                awaitFinished(job);
+                assertEquals(TessellationJob.State.CANCELLED, job.getState());
+                assertNull(job.toJson().get("result"));
+        }
+
+        @Test
+        public void finishedJob_EQUALS_hexagonsReleased() throws InterruptedException {
+                final TessellationJob job = jobs.submit(runningJob -> {
+                        runningJob.onHexagon(null);
+                        runningJob.onRingCompleted(1, 1);
+                        assertEquals(1, runningJob.getCompletedRings().size());
+                        return new JsonObject();
+                }, true);
+
+                awaitFinished(job);
+                assertEquals(TessellationJob.State.SUCCEEDED, job.getState());
+                assertTrue(job.getCompletedRings().isEmpty());
+                assertFalse(jobs.cancel(job));
+        }
+}
@@ -0,0 +1,66 @@
+package com.geospatial.hexagongrid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.geospatial.hexagongrid.hexagon.Coordinates;
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.tessellation.Boundary;
+import com.geospatial.hexagongrid.tessellation.CornerEdgeTessellation;
+import com.geospatial.hexagongrid.tessellation.TessellationCursor;
+
+public class TessellationPageTest {
+        private Coordinates centroid = new Coordinates(106.7021, 10.7755);
+        private Boundary boundary = new Boundary(new Coordinates(106.6, 10.7), new Coordinates(106.8, 10.85));
+        private Hexagon rootHexagon = new Hexagon(centroid, 500);
+
+        @Test
+        public void pages_EQUALS_tessellation() {
+                final CornerEdgeTessellation tessellation = new CornerEdgeTessellation(rootHexagon);
+                tessellation.tessellate(boundary);
+                final List<Hexagon> gisHexagons = tessellation.getGisHexagons();
+
+                // Pages of an odd size, so pages start in the middle of rings
+                final CornerEdgeTessellation pages = new CornerEdgeTessellation(rootHexagon);
+                final List<Hexagon> pagedGisHexagons = new ArrayList<Hexagon>();
+                TessellationCursor cursor = TessellationCursor.FIRST;
+                while (cursor != null) {
+                        cursor = pages.tessellatePage(boundary, TessellationCursor.decode(cursor.encode()), 777);
+                        pagedGisHexagons.addAll(pages.getGisHexagons());
+                }
+
+                assertEquals(TessellationCursor.countHexagons(tessellation.getRequiredRings()), gisHexagons.size());
+                assertEquals(gisHexagons.size(), pagedGisHexagons.size());
+                for (int i = 0; i < gisHexagons.size(); i++) {
+                        final Hexagon expected = gisHexagons.get(i);
+                        final Hexagon actual = pagedGisHexagons.get(i);
+
+                        assertEquals(expected.getCCI().getCellId(), actual.getCCI().getCellId());
+                        assertEquals(expected.getPosition(), actual.getPosition());
+                        if (i > 0) {
+                                assertEquals(expected.getPreviousCCI().getCellId(), actual.getPreviousCCI().getCellId());
+                        }
+                        assertEquals(expected.getCentroid().getLongitude(), actual.getCentroid().getLongitude(), 1e-9);
+                        assertEquals(expected.getCentroid().getLatitude(), actual.getCentroid().getLatitude(), 1e-9);
+                }
+        }
+
+        @Test
+        public void nextCursor_SKIPS_completedRings() {
+                final CornerEdgeTessellation pages = new CornerEdgeTessellation(rootHexagon);
+
+                // Ring 0 + ring 1 (6 hexagons)
+                final TessellationCursor next = pages.tessellatePage(boundary, TessellationCursor.FIRST, 7);
+                assertEquals(2, next.getRing());
+                assertEquals(0, next.getOffset());
+
+                final TessellationCursor lastRing = new TessellationCursor(pages.getRequiredRings() - 1, 0);
+                assertNull(pages.tessellatePage(boundary, lastRing, Integer.MAX_VALUE));
+                assertEquals(TessellationCursor.ringSize(lastRing.getRing()), pages.getGisHexagons().size());
+        }
+}
@@ -0,0 +1,72 @@
+package com.geospatial.hexagongrid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.geospatial.hexagongrid.hexagon.Coordinates;
+import com.geospatial.hexagongrid.hexagon.Hexagon;
+import com.geospatial.hexagongrid.neighbors.Neighbors;
+import com.geospatial.hexagongrid.wkb.WkbReader;
+import com.geospatial.hexagongrid.wkb.WkbWriter;
+
+public class WkbWriterTest {
+        // Sample rows of the README (PostGIS output), CCI (0, 0, 0)
+        private static final String CENTROID_EWKB = "0101000020E610000062A1D634EFAC5A40931804560E8D2540";
+        private static final String POLYGON_EWKB = "0103000020E61000000100000007000000"
+                        + "032CCD9DA5AC5A407CDDA9A412892540C116E0CB38AD5A407CDDA9A412892540"
+                        + "218CE96282AD5A40931804560E8D2540C116E0CB38AD5A40AA535E070A912540"
+                        + "032CCD9DA5AC5A40AA535E070A912540A3B6C3065CAC5A40931804560E8D2540"
+                        + "032CCD9DA5AC5A407CDDA9A412892540";
+
+        private Coordinates centroid = new Coordinates(106.7021, 10.7755);
+        private Hexagon hexagon = new Hexagon(centroid, 1000);
+        private WkbWriter writer = new WkbWriter();
+
+        @Test
+        public void centroid_EQUALS_postgisEWKB() {
+                final byte[] bytes = writer.centroidBytes(hexagon);
+
+                assertEquals(WkbWriter.POINT_EWKB_BYTES, bytes.length);
+                assertEquals(CENTROID_EWKB, HexFormat.of().withUpperCase().formatHex(bytes));
+        }
+
+        @Test
+        public void polygon_EQUALS_postgisEWKB() {
+                final byte[] bytes = writer.polygonBytes(hexagon);
+
+                assertEquals(WkbWriter.POLYGON_EWKB_BYTES, bytes.length);
+                assertEquals(POLYGON_EWKB, HexFormat.of().withUpperCase().formatHex(bytes));
+        }
+
+        @Test
+        public void multiPolygonSize() throws IOException {
+                final Neighbors neighbors = new Neighbors(hexagon);
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                writer.writeMultiPolygon(neighbors.getGisHexagons(), out);
+
+                // EWKB header (1 + 4 + 4) + number of polygons (4) + 7 WKB polygons (125 bytes each)
+                assertEquals(13 + 7 * 125, out.size());
+        }
+
+        @Test
+        public void readPolygon_EQUALS_gisVertices() {
+                final List<Coordinates> vertices = WkbReader.readPolygon(HexFormat.of().parseHex(POLYGON_EWKB));
+                final List<Coordinates> gisVertices = hexagon.getGisVertices();
+
+                assertEquals(gisVertices.size(), vertices.size());
+                for (int i = 0; i < vertices.size(); i++) {
+                        assertEquals(gisVertices.get(i).getLongitude(), vertices.get(i).getLongitude());
+                        assertEquals(gisVertices.get(i).getLatitude(), vertices.get(i).getLatitude());
+                }
+
+                final Coordinates point = WkbReader.readPoint(HexFormat.of().parseHex(CENTROID_EWKB));
+                assertEquals(centroid.getLongitude(), point.getLongitude());
+                assertEquals(centroid.getLatitude(), point.getLatitude());
+        }
+}